@@ -1,7 +1,12 @@
 package com.example.server_android;
 
+import com.example.server_android.catalog.CatalogChangeListener;
+import com.example.server_android.config.PooledIdGenerator;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
 
 import java.util.List;
 
@@ -12,9 +17,12 @@ import java.util.List;
 @Builder
 @Entity
 @Table(name = "categories")
+@EntityListeners(CatalogChangeListener.class)
 public class Category {
     @Id
-    @GeneratedValue(strategy = GenerationType.AUTO)
+    @GeneratedValue(generator = "category_id")
+    @GenericGenerator(name = "category_id", type = PooledIdGenerator.class,
+            parameters = @Parameter(name = SequenceStyleGenerator.SEQUENCE_PARAM, value = "categories_seq"))
     private Long id;
 
     private String name;
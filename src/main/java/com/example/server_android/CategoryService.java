@@ -1,5 +1,6 @@
 package com.example.server_android;
 
+import com.example.server_android.catalog.CatalogCaches;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
@@ -10,8 +11,9 @@ import java.util.List;
 public class CategoryService {
 
     private final CategoryRepository categoryRepository;
+    private final CatalogCaches catalogCaches;
 
     public List<Category> getAllCategories() {
-        return categoryRepository.findAll();
+        return catalogCaches.categories().get(CatalogCaches.ALL, () -> List.copyOf(categoryRepository.findAll()));
     }
 }
\ No newline at end of file
@@ -1,13 +1,21 @@
 package com.example.server_android;
 
+import com.example.server_android.bulkimport.ImportCommandLineRunner;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@EnableScheduling
 public class ServerAndroidApplication {
 
     public static void main(String[] args) {
-        SpringApplication.run(ServerAndroidApplication.class, args);
+        ConfigurableApplicationContext context = SpringApplication.run(ServerAndroidApplication.class, args);
+        // In modul de import aplicatia se opreste dupa rulare, cu codul dat de ImportCommandLineRunner
+        if (context.getBeanNamesForType(ImportCommandLineRunner.class).length > 0) {
+            System.exit(SpringApplication.exit(context));
+        }
     }
 
 }
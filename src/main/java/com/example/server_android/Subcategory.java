@@ -1,7 +1,12 @@
 package com.example.server_android;
 
+import com.example.server_android.catalog.CatalogChangeListener;
+import com.example.server_android.config.PooledIdGenerator;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
 
 @Getter
 @Setter
@@ -9,15 +14,18 @@ import lombok.*;
 @AllArgsConstructor
 @Builder
 @Entity
-@Table(name = "subcategories")
+@Table(name = "subcategories", indexes = @Index(name = "idx_subcategories_category", columnList = "category_id"))
+@EntityListeners(CatalogChangeListener.class)
 public class Subcategory {
     @Id
-    @GeneratedValue(strategy = GenerationType.AUTO)
+    @GeneratedValue(generator = "subcategory_id")
+    @GenericGenerator(name = "subcategory_id", type = PooledIdGenerator.class,
+            parameters = @Parameter(name = SequenceStyleGenerator.SEQUENCE_PARAM, value = "subcategories_seq"))
     private Long id;
 
     private String name;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "category_id")
     private Category category;
 }
\ No newline at end of file
@@ -1,9 +1,24 @@
 package com.example.server_android;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 
+import java.util.Collection;
 import java.util.List;
 
 public interface SubcategoryRepository extends JpaRepository<Subcategory, Long> {
     List<Subcategory> findByCategoryId(Long categoryId);
-}
\ No newline at end of file
+
+    // s.category.id se citeste direct din category_id, fara join pe categories
+    @Query("select new com.example.server_android.SubcategoryDTO(s.id, s.name, s.category.id) " +
+            "from Subcategory s where s.category.id = :categoryId order by s.id")
+    List<SubcategoryDTO> findDtosByCategoryId(Long categoryId);
+
+    @Query("select new com.example.server_android.SubcategoryDTO(s.id, s.name, s.category.id) " +
+            "from Subcategory s where s.category.id in :categoryIds order by s.category.id, s.id")
+    List<SubcategoryDTO> findDtosByCategoryIdIn(Collection<Long> categoryIds);
+
+    @Query("select new com.example.server_android.SubcategoryDTO(s.id, s.name, s.category.id) " +
+            "from Subcategory s where s.id in :ids")
+    List<SubcategoryDTO> findDtosByIdIn(Collection<Long> ids);
+}
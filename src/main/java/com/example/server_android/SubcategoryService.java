@@ -1,21 +1,41 @@
 package com.example.server_android;
 
+import com.example.server_android.catalog.CatalogCaches;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
-import java.util.List;
-import java.util.stream.Collectors;
+import java.util.*;
 
 @Service
 @RequiredArgsConstructor
 public class SubcategoryService {
 
     private final SubcategoryRepository subcategoryRepository;
+    private final CatalogCaches catalogCaches;
 
     public List<SubcategoryDTO> getSubcategoriesByCategoryId(Long categoryId) {
-        List<Subcategory> subcategories = subcategoryRepository.findByCategoryId(categoryId);
-        return subcategories.stream()
-                .map(subcategory -> new SubcategoryDTO(subcategory.getId(), subcategory.getName(), subcategory.getCategory().getId()))
-                .collect(Collectors.toList());
+        return catalogCaches.subcategoriesByCategory().get(categoryId, () -> loadSubcategories(categoryId));
+    }
+
+    private List<SubcategoryDTO> loadSubcategories(Long categoryId) {
+        return List.copyOf(subcategoryRepository.findDtosByCategoryId(categoryId));
+    }
+
+    /**
+     * Subcategories of several categories in one query, keyed by category id in request order.
+     * Categories without subcategories map to an empty list.
+     */
+    public Map<Long, List<SubcategoryDTO>> getSubcategoriesByCategoryIds(Collection<Long> categoryIds) {
+        Map<Long, List<SubcategoryDTO>> grouped = new LinkedHashMap<>();
+        for (Long categoryId : categoryIds) {
+            grouped.put(categoryId, new ArrayList<>());
+        }
+        if (grouped.isEmpty()) {
+            return grouped;
+        }
+        for (SubcategoryDTO subcategory : subcategoryRepository.findDtosByCategoryIdIn(grouped.keySet())) {
+            grouped.get(subcategory.getCategoryId()).add(subcategory);
+        }
+        return grouped;
     }
 }
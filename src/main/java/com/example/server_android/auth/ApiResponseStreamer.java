@@ -0,0 +1,51 @@
+package com.example.server_android.auth;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.function.Consumer;
+
+/**
+ * Writes an {@link ApiResponse}-shaped body whose {@code data} array is produced row by row,
+ * so the response never holds the whole result set in memory.
+ */
+@Component
+@RequiredArgsConstructor
+public class ApiResponseStreamer {
+
+    private static final int FLUSH_EVERY = 500;
+
+    private final ObjectMapper objectMapper;
+
+    public <T> StreamingResponseBody stream(String message, Consumer<Consumer<T>> source) {
+        return outputStream -> {
+            try (JsonGenerator generator = objectMapper.createGenerator(outputStream)) {
+                generator.writeStartObject();
+                generator.writeBooleanField("success", true);
+                generator.writeStringField("message", message);
+                generator.writeArrayFieldStart("data");
+                generator.flush();
+                int[] written = {0};
+                source.accept(item -> {
+                    try {
+                        generator.writeObject(item);
+                        if (++written[0] % FLUSH_EVERY == 0) {
+                            generator.flush();
+                        }
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+                generator.writeEndArray();
+                generator.writeEndObject();
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+        };
+    }
+}
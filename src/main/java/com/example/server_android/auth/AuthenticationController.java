@@ -1,23 +1,43 @@
 package com.example.server_android.auth;
 
 import com.example.server_android.*;
-import com.example.server_android.exam.QuestionDTO;
-import com.example.server_android.exam.QuestionMapper;
+import com.example.server_android.catalog.Catalog;
+import com.example.server_android.catalog.CatalogVersion;
+import com.example.server_android.catalog.CatalogVersions;
+import com.example.server_android.config.PasswordHashingBusyException;
+import com.example.server_android.exam.ExamBuilder;
+import com.example.server_android.exam.GeneratedExam;
+import com.example.server_android.exam.GradeRequest;
+import com.example.server_android.exam.GradingResult;
+import com.example.server_android.exam.GradingService;
+import com.example.server_android.exam.PublicQuestionDTO;
 import com.example.server_android.exam.QuestionService;
-import com.example.server_android.words.Word;
+import com.example.server_android.ratelimit.AuthRateLimiter;
+import com.example.server_android.ratelimit.RateLimitedEndpoint;
+import com.example.server_android.search.WordHit;
+import com.example.server_android.search.WordSearchService;
+import com.example.server_android.sync.CatalogChangeSet;
+import com.example.server_android.sync.CatalogSyncService;
+import com.example.server_android.words.WordPage;
 import com.example.server_android.words.WordService;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.HttpServletRequest;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.validation.annotation.Validated;
 import lombok.RequiredArgsConstructor;
 
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/api/v1/auth/")
@@ -27,8 +47,13 @@ public class AuthenticationController {
     private static final Logger logger = LoggerFactory.getLogger(AuthenticationController.class);
     private final AuthenticationService authenticationService;
     private final WordService wordService;
+    private final WordSearchService wordSearchService;
     private final CategoryService categoryService;
     private final SubcategoryService subcategoryService;
+    private final AuthRateLimiter authRateLimiter;
+    private final ApiResponseStreamer apiResponseStreamer;
+    private final CatalogVersions catalogVersions;
+    private final CatalogSyncService catalogSyncService;
 
     @GetMapping("/check-server-connection")
     public ResponseEntity<ApiResponse> checkServerConnection() {
@@ -53,11 +78,19 @@ public class AuthenticationController {
     }
 
     @PostMapping("/create-account")
-    public ResponseEntity<ApiResponse> createAccount(@RequestBody @Validated RegisterRequest request) {
+    public ResponseEntity<ApiResponse> createAccount(@RequestBody @Validated RegisterRequest request, HttpServletRequest httpRequest) {
         logger.info("Creating account for email: {}", request.getEmail());
+        long retryAfterMillis = authRateLimiter.tryAcquire(
+                RateLimitedEndpoint.CREATE_ACCOUNT, httpRequest.getRemoteAddr(), request.getEmail());
+        if (retryAfterMillis > 0) {
+            return tooManyRequests(retryAfterMillis);
+        }
         try {
             ApiResponse apiResponse = authenticationService.register(request);
             return ResponseEntity.ok(apiResponse);
+        } catch (PasswordHashingBusyException e) {
+            logger.warn("Account creation rejected, password hashing pool is saturated");
+            return serviceBusy(e);
         } catch (Exception e) {
             logger.error("Account creation failed: {}", e.getMessage());
             return ResponseEntity.badRequest().body(new ApiResponse(false, e.getMessage()));
@@ -77,12 +110,17 @@ public class AuthenticationController {
     }
 
     @PostMapping("/resend-confirmation-email")
-    public ResponseEntity<ApiResponse> resendConfirmationEmail(@RequestBody String emailJson) {
+    public ResponseEntity<ApiResponse> resendConfirmationEmail(@RequestBody String emailJson, HttpServletRequest httpRequest) {
         ObjectMapper objectMapper = new ObjectMapper();
         try {
             JsonNode rootNode = objectMapper.readTree(emailJson);
             String email = rootNode.get("email").asText();
 
+            long retryAfterMillis = authRateLimiter.tryAcquire(
+                    RateLimitedEndpoint.RESEND_CONFIRMATION_EMAIL, httpRequest.getRemoteAddr(), email);
+            if (retryAfterMillis > 0) {
+                return tooManyRequests(retryAfterMillis);
+            }
             return ResponseEntity.ok(authenticationService.resendConfirmationEmail(email));
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(new ApiResponse(false, "Invalid request: " + e.getMessage()));
@@ -90,11 +128,19 @@ public class AuthenticationController {
     }
 
     @PostMapping("/login-account")
-    public ResponseEntity<ApiResponse> authenticate(@RequestBody LoginRequest loginRequest) {
+    public ResponseEntity<ApiResponse> authenticate(@RequestBody LoginRequest loginRequest, HttpServletRequest httpRequest) {
         logger.info("Authenticating user: {}", loginRequest.getEmail());
+        long retryAfterMillis = authRateLimiter.tryAcquire(
+                RateLimitedEndpoint.LOGIN_ACCOUNT, httpRequest.getRemoteAddr(), loginRequest.getEmail());
+        if (retryAfterMillis > 0) {
+            return tooManyRequests(retryAfterMillis);
+        }
         try {
             ApiResponse apiResponse = authenticationService.login(loginRequest);
             return ResponseEntity.ok(apiResponse);
+        } catch (PasswordHashingBusyException e) {
+            logger.warn("Login rejected, password hashing pool is saturated");
+            return serviceBusy(e);
         } catch (Exception e) {
             logger.error("Authentication failed: {}", e.getMessage());
             return ResponseEntity.badRequest().body(new ApiResponse(false, e.getMessage()));
@@ -132,35 +178,147 @@ public class AuthenticationController {
         }
     }
     @GetMapping("/words")
-    public ResponseEntity<ApiResponse> getAllWords() {
-        logger.info("Received request to fetch all words");
+    public ResponseEntity<StreamingResponseBody> getAllWords(WebRequest webRequest) {
+        logger.info("Received request to stream all words");
+        if (isNotModified(webRequest, Catalog.WORDS)) {
+            return null;
+        }
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noCache())
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(apiResponseStreamer.stream("Words fetched successfully", wordService::forEachWord));
+    }
+
+    @GetMapping("/words/page")
+    public ResponseEntity<ApiResponse> getWordsPage(@RequestParam(value = "after", required = false) Long afterId,
+                                                    @RequestParam(value = "size", required = false) Integer size) {
+        logger.info("Fetching words page after ID: {}", afterId);
         try {
-            List<Word> words = wordService.getAllWords();
-            logger.info("Successfully fetched {} words", words.size());
-            return ResponseEntity.ok(new ApiResponse(true, "Words fetched successfully", words));
+            WordPage page = wordService.getWordsPage(afterId, size);
+            return ResponseEntity.ok(new ApiResponse(true, "Words fetched successfully", page));
         } catch (Exception e) {
             logger.error("Error fetching words: {}", e.getMessage());
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(new ApiResponse(false, "Error fetching words"));
         }
     }
 
+    @GetMapping("/words/search")
+    public ResponseEntity<ApiResponse> searchWords(@RequestParam("q") String query,
+                                                   @RequestParam(value = "limit", defaultValue = "10") int limit) {
+        // Apelat la fiecare tasta, deci doar debug
+        logger.debug("Searching words for: {}", query);
+        try {
+            List<WordHit> hits = wordSearchService.search(query, limit);
+            return ResponseEntity.ok(new ApiResponse(true, "Words found", hits));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(new ApiResponse(false, e.getMessage()));
+        } catch (Exception e) {
+            logger.error("Error searching words: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(new ApiResponse(false, "Error searching words"));
+        }
+    }
+
     private final QuestionService questionService;
+    private final ExamBuilder examBuilder;
+    private final GradingService gradingService;
 
     @GetMapping("/questions")
-    public ResponseEntity<ApiResponse> getAllQuestions() {
-        List<QuestionDTO> questions = questionService.getAllQuestions().stream()
-                .map(QuestionMapper::toQuestionDTO)
-                .collect(Collectors.toList());
-        return ResponseEntity.ok(new ApiResponse(true, "Questions fetched successfully", questions));
+    public ResponseEntity<StreamingResponseBody> getAllQuestions(WebRequest webRequest) {
+        logger.info("Received request to stream all questions");
+        if (isNotModified(webRequest, Catalog.QUESTIONS)) {
+            return null;
+        }
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noCache())
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(apiResponseStreamer.stream("Questions fetched successfully", questionService::forEachQuestion));
+    }
+
+    @GetMapping("/questions/filter")
+    public ResponseEntity<ApiResponse> getFilteredQuestions(@RequestParam(value = "subcategoryId", required = false) Long subcategoryId,
+                                                            @RequestParam(value = "testId", required = false) Long testId,
+                                                            @RequestParam(value = "type", required = false) String type,
+                                                            WebRequest webRequest) {
+        logger.info("Fetching questions for subcategory ID: {}, test ID: {}, type: {}", subcategoryId, testId, type);
+        if (isNotModified(webRequest, Catalog.QUESTIONS)) {
+            return null;
+        }
+        try {
+            List<PublicQuestionDTO> questions = questionService.findQuestions(subcategoryId, testId, type);
+            return ResponseEntity.ok()
+                    .cacheControl(CacheControl.noCache())
+                    .body(new ApiResponse(true, "Questions fetched successfully", questions));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(new ApiResponse(false, e.getMessage()));
+        } catch (Exception e) {
+            logger.error("Error fetching questions: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(new ApiResponse(false, "Error fetching questions"));
+        }
+    }
+
+    @GetMapping("/questions/count")
+    public ResponseEntity<ApiResponse> countQuestions(@RequestParam(value = "subcategoryId", required = false) Long subcategoryId,
+                                                      @RequestParam(value = "testId", required = false) Long testId,
+                                                      @RequestParam(value = "type", required = false) String type,
+                                                      WebRequest webRequest) {
+        logger.info("Counting questions for subcategory ID: {}, test ID: {}, type: {}", subcategoryId, testId, type);
+        if (isNotModified(webRequest, Catalog.QUESTIONS)) {
+            return null;
+        }
+        try {
+            long count = questionService.countQuestions(subcategoryId, testId, type);
+            return ResponseEntity.ok()
+                    .cacheControl(CacheControl.noCache())
+                    .body(new ApiResponse(true, "Questions counted successfully", Map.of("count", count)));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(new ApiResponse(false, e.getMessage()));
+        } catch (Exception e) {
+            logger.error("Error counting questions: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(new ApiResponse(false, "Error counting questions"));
+        }
+    }
+
+    @GetMapping("/exam/generate")
+    public ResponseEntity<ApiResponse> generateExam(@RequestParam("subcategoryId") Long subcategoryId,
+                                                    @RequestParam(value = "count", defaultValue = "20") int count,
+                                                    @RequestParam(value = "seed", required = false) Long seed) {
+        logger.info("Generating exam for subcategory ID: {}, count: {}, seed: {}", subcategoryId, count, seed);
+        try {
+            GeneratedExam exam = examBuilder.build(subcategoryId, count, seed);
+            return ResponseEntity.ok(new ApiResponse(true, "Exam generated successfully", exam));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(new ApiResponse(false, e.getMessage()));
+        } catch (Exception e) {
+            logger.error("Error generating exam: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(new ApiResponse(false, "Error generating exam"));
+        }
     }
 
+    @PostMapping("/exam/grade")
+    public ResponseEntity<ApiResponse> gradeExam(@RequestBody @Validated GradeRequest request) {
+        logger.info("Grading {} answers", request.getAnswers().size());
+        try {
+            GradingResult result = gradingService.grade(request.getAnswers());
+            return ResponseEntity.ok(new ApiResponse(true, "Answers graded successfully", result));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(new ApiResponse(false, e.getMessage()));
+        } catch (Exception e) {
+            logger.error("Error grading answers: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(new ApiResponse(false, "Error grading answers"));
+        }
+    }
 
     @GetMapping("/categories")
-    public ResponseEntity<ApiResponse> getAllCategories() {
+    public ResponseEntity<ApiResponse> getAllCategories(WebRequest webRequest) {
         logger.info("Fetching all categories");
+        if (isNotModified(webRequest, Catalog.CATEGORIES)) {
+            return null;
+        }
         try {
             List<Category> categories = categoryService.getAllCategories();
-            return ResponseEntity.ok(new ApiResponse(true, "Categories fetched successfully", categories));
+            return ResponseEntity.ok()
+                    .cacheControl(CacheControl.noCache())
+                    .body(new ApiResponse(true, "Categories fetched successfully", categories));
         } catch (Exception e) {
             logger.error("Error fetching categories: {}", e.getMessage());
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(new ApiResponse(false, "Error fetching categories"));
@@ -168,15 +326,76 @@ public class AuthenticationController {
     }
 
     @GetMapping("/subcategory/{categoryId}")
-    public ResponseEntity<ApiResponse> getSubcategoriesByCategoryId(@PathVariable Long categoryId) {
+    public ResponseEntity<ApiResponse> getSubcategoriesByCategoryId(@PathVariable Long categoryId, WebRequest webRequest) {
         logger.info("Fetching subcategories for category ID: {}", categoryId);
+        if (isNotModified(webRequest, Catalog.SUBCATEGORIES)) {
+            return null;
+        }
         try {
             List<SubcategoryDTO> subcategories = subcategoryService.getSubcategoriesByCategoryId(categoryId);
-            return ResponseEntity.ok(new ApiResponse(true, "Subcategories fetched successfully", subcategories));
+            return ResponseEntity.ok()
+                    .cacheControl(CacheControl.noCache())
+                    .body(new ApiResponse(true, "Subcategories fetched successfully", subcategories));
         } catch (Exception e) {
             logger.error("Error fetching subcategories: {}", e.getMessage());
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(new ApiResponse(false, "Error fetching subcategories"));
         }
     }
 
+    @GetMapping("/subcategories")
+    public ResponseEntity<ApiResponse> getSubcategoriesByCategoryIds(@RequestParam("categoryIds") List<Long> categoryIds,
+                                                                     WebRequest webRequest) {
+        logger.info("Fetching subcategories for category IDs: {}", categoryIds);
+        if (isNotModified(webRequest, Catalog.SUBCATEGORIES)) {
+            return null;
+        }
+        try {
+            Map<Long, List<SubcategoryDTO>> subcategories = subcategoryService.getSubcategoriesByCategoryIds(categoryIds);
+            return ResponseEntity.ok()
+                    .cacheControl(CacheControl.noCache())
+                    .body(new ApiResponse(true, "Subcategories fetched successfully", subcategories));
+        } catch (Exception e) {
+            logger.error("Error fetching subcategories: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(new ApiResponse(false, "Error fetching subcategories"));
+        }
+    }
+
+    @GetMapping("/changes")
+    public ResponseEntity<ApiResponse> getCatalogChanges(@RequestParam(value = "since", required = false) Long since) {
+        logger.info("Fetching catalog changes since cursor: {}", since);
+        try {
+            if (since == null) {
+                // Fara cursor clientul primeste doar pozitia curenta, apoi descarca tot catalogul
+                long head = catalogSyncService.headCursor();
+                return ResponseEntity.ok(new ApiResponse(true, "Current sync cursor", Map.of("cursor", head)));
+            }
+            CatalogChangeSet changeSet = catalogSyncService.changesSince(since);
+            return ResponseEntity.ok(new ApiResponse(true, "Changes fetched successfully", changeSet));
+        } catch (Exception e) {
+            logger.error("Error fetching catalog changes: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(new ApiResponse(false, "Error fetching catalog changes"));
+        }
+    }
+
+    /**
+     * Answers 304 straight from the in-memory catalog version, without touching the database.
+     * Sets ETag and Last-Modified on the response otherwise.
+     */
+    private boolean isNotModified(WebRequest webRequest, Catalog catalog) {
+        CatalogVersion version = catalogVersions.current(catalog);
+        return webRequest.checkNotModified(version.getETag(), version.getLastModifiedMillis());
+    }
+
+    private ResponseEntity<ApiResponse> tooManyRequests(long retryAfterMillis) {
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf((retryAfterMillis + 999) / 1000))
+                .body(new ApiResponse(false, "Too many requests, please retry later"));
+    }
+
+    private ResponseEntity<ApiResponse> serviceBusy(PasswordHashingBusyException e) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()))
+                .body(new ApiResponse(false, e.getMessage()));
+    }
+
 }
@@ -1,23 +1,31 @@
 package com.example.server_android.auth;
 
 import com.example.server_android.config.JwtService;
+import com.example.server_android.config.PasswordHashingBusyException;
+import com.example.server_android.config.VerifiedToken;
+import com.example.server_android.config.VerifiedTokenCache;
 import com.example.server_android.test.service.EmailService;
 import com.example.server_android.token.Token;
+import com.example.server_android.token.TokenDigest;
 import com.example.server_android.token.TokenRepository;
 import com.example.server_android.token.TokenType;
 import com.example.server_android.user.Role;
 import com.example.server_android.user.User;
+import com.example.server_android.user.UserPrincipalCache;
 import com.example.server_android.user.UserRepository;
+import io.jsonwebtoken.ExpiredJwtException;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
 import org.springframework.security.core.AuthenticationException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Instant;
 import java.util.Optional;
 
 @Service
@@ -32,6 +40,8 @@ public class AuthenticationService {
     private final AuthenticationManager authenticationManager;
     private final TokenRepository tokenRepository;
     private final EmailService emailService;
+    private final VerifiedTokenCache verifiedTokenCache;
+    private final UserPrincipalCache userPrincipalCache;
 
 
     public ApiResponse isUserEnabled(String email) {
@@ -53,11 +63,14 @@ public class AuthenticationService {
     }
 
 
+    @Transactional
     public ApiResponse register(RegisterRequest request) {
         logger.debug("Registering new user with email: {}", request.getEmail());
         try {
             Optional<User> existingUser = userRepository.findByEmail(request.getEmail());
             return existingUser.map(user -> handleExistingUser(user, request)).orElseGet(() -> handleNewUser(request));
+        } catch (PasswordHashingBusyException e) {
+            throw e;
         } catch (Exception e) {
             logger.error("Error registering user: {}", e.getMessage(), e);
             throw new RuntimeException("Registration failed: " + e.getMessage());
@@ -71,6 +84,7 @@ public class AuthenticationService {
             user.setLast_name(request.getLastname());
             user.setPassword(passwordEncoder.encode(request.getPassword()));
             userRepository.save(user);
+            userPrincipalCache.evict(user.getEmail());
             return resendToken(user);
         }
         return new ApiResponse(false, "Email already confirmed. Please log in.");
@@ -84,9 +98,10 @@ public class AuthenticationService {
                 .email(request.getEmail())
                 .enabled(false)
                 .password(passwordEncoder.encode(request.getPassword()))
-                .role(Role.ADMIN)
+                .role(Role.USER)
                 .build();
         userRepository.save(newUser);
+        userPrincipalCache.evict(newUser.getEmail());
         return resendToken(newUser);
     }
 
@@ -94,7 +109,7 @@ public class AuthenticationService {
     private ApiResponse resendToken(User user) {
         String newConfirmationToken = jwtService.generateToken(user);
         saveUserToken(user, newConfirmationToken);
-        emailService.sendRegistrationMail(user.getEmail(), newConfirmationToken);
+        emailService.sendRegistrationMail(user.getEmail(), user.getFirst_name(), newConfirmationToken);
         return new ApiResponse(true, "User registered successfully. Please check your email for confirmation instructions.");
     }
 
@@ -125,7 +140,9 @@ public class AuthenticationService {
         }
 
         user.setEnabled(true);
+        user.setConfirmedAt(Instant.now());
         userRepository.save(user);
+        userPrincipalCache.evict(user.getEmail());
         revokeAllUserTokens(user);
         logger.info("User email confirmed and account enabled for user: {}", user.getEmail());
         return new ApiResponse(true, "Your email is confirmed. All existing tokens were revoked. Thank you for using our service!");
@@ -137,7 +154,7 @@ public class AuthenticationService {
         try {
             var tokenRecord = Token.builder()
                     .user(user)
-                    .token(token)
+                    .tokenHash(TokenDigest.sha256(token))
                     .tokenType(TokenType.BEARER)
                     .expired(false)
                     .disable(false)
@@ -154,16 +171,12 @@ public class AuthenticationService {
     private void revokeAllUserTokens(User user) {
         logger.debug("Revoking all tokens for user: {}", user.getEmail());
         try {
-            var validUserTokens = tokenRepository.findAllValidTokenByUser(user.getId());
-            if (validUserTokens.isEmpty()) {
+            int revoked = tokenRepository.revokeAllValidTokensByUser(user.getId());
+            verifiedTokenCache.invalidateUser(user.getEmail());
+            if (revoked == 0) {
                 logger.info("No valid tokens found to revoke for user: {}", user.getEmail());
                 return;
             }
-            validUserTokens.forEach(token -> {
-                token.setExpired(true);
-                token.setDisable(true);
-            });
-            tokenRepository.saveAll(validUserTokens);
             logger.info("All tokens revoked for user: {}", user.getEmail());
         } catch (Exception e) {
             logger.error("Failed to revoke tokens for user: {}", user.getEmail(), e);
@@ -175,16 +188,16 @@ public class AuthenticationService {
     public ApiResponse verifyToken(String token) {
         logger.debug("Verifying token: {}", token);
         try {
-            if (jwtService.isTokenExpired(token)) {
-                logger.warn("Token expired: {}", token);
-                return new ApiResponse(false, "Token expired");
-            }
-            String username = jwtService.getUsernameFromToken(token);
+            VerifiedToken verifiedToken = jwtService.verifyToken(token);
+            String username = verifiedToken.getSubject();
             User user = userRepository.findByEmail(username)
                     .orElseThrow(() -> new IllegalStateException("User not found with email: " + username));
-            boolean isValid = jwtService.isTokenValid(token, user);
+            boolean isValid = verifiedToken.isValidFor(user);
             logger.info("Token verification result for user {}: {}", username, isValid);
             return new ApiResponse(isValid, "Token verification");
+        } catch (ExpiredJwtException e) {
+            logger.warn("Token expired: {}", token);
+            return new ApiResponse(false, "Token expired");
         } catch (Exception e) {
             logger.error("Token verification failed: {}", e.getMessage());
             return new ApiResponse(false, "Token verification failed");
@@ -192,6 +205,7 @@ public class AuthenticationService {
     }
 
 
+    @Transactional
     public ApiResponse resendConfirmationEmail(String request) {
         logger.debug("Resending confirmation email to: {}", request);
         try {
@@ -203,7 +217,7 @@ public class AuthenticationService {
                     revokeAllUserTokens(user);
                     String newConfirmationToken = jwtService.generateToken(user);
                     saveUserToken(user, newConfirmationToken);
-                    emailService.sendRegistrationMail(user.getEmail(), newConfirmationToken);
+                    emailService.sendRegistrationMail(user.getEmail(), user.getFirst_name(), newConfirmationToken);
                     logger.info("Confirmation email resent to: {}", request);
                     return new ApiResponse(true, "Confirmation email resent. Please check your email.");
                 } else {
@@ -223,8 +237,9 @@ public class AuthenticationService {
 
     public ApiResponse login(LoginRequest request) {
         logger.debug("Attempting to login user with email: {}", request.getEmail());
+        Authentication authentication;
         try {
-            authenticationManager.authenticate(
+            authentication = authenticationManager.authenticate(
                     new UsernamePasswordAuthenticationToken(
                             request.getEmail(),
                             request.getPassword()
@@ -236,11 +251,8 @@ public class AuthenticationService {
             throw new RuntimeException("Authentication failed: " + e.getMessage());
         }
 
-        var user = userRepository.findByEmail(request.getEmail())
-                .orElseThrow(() -> {
-                    logger.error("User not found after authentication for email: {}", request.getEmail());
-                    return new RuntimeException("User not found");
-                });
+        // Principalul este utilizatorul deja încărcat de UserDetailsService, fără o a doua interogare
+        var user = (User) authentication.getPrincipal();
 
         var jwtToken = jwtService.generateToken(user);
 
@@ -269,8 +281,10 @@ public class AuthenticationService {
 
             // De asemenea, dezactivăm utilizatorul asociat
             User user = token.getUser();
+            verifiedTokenCache.invalidate(tokenRequest, user.getEmail());
             user.setEnabled(false);
             userRepository.save(user);
+            userPrincipalCache.evict(user.getEmail());
 
             logger.info("Logout successful for user: {}", user.getEmail());
             return new ApiResponse(true, "Logout successful");
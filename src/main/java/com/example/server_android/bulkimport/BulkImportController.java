@@ -0,0 +1,46 @@
+package com.example.server_android.bulkimport;
+
+import com.example.server_android.auth.ApiResponse;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * Admin-only bulk import. The file is the raw request body, read as a stream, e.g.
+ * {@code curl -H "Content-Type: text/csv" --data-binary @words.csv .../api/v1/admin/import/words}.
+ */
+@RestController
+@RequestMapping("/api/v1/admin/import")
+@RequiredArgsConstructor
+public class BulkImportController {
+
+    private static final Logger logger = LoggerFactory.getLogger(BulkImportController.class);
+    private final BulkImportService bulkImportService;
+
+    @PostMapping("/{kind}")
+    public ResponseEntity<ApiResponse> importRows(@PathVariable String kind,
+                                                  @RequestParam(value = "format", required = false) String format,
+                                                  HttpServletRequest request) {
+        logger.info("Bulk import of {} requested", kind);
+        try {
+            ImportKind importKind = ImportKind.fromId(kind);
+            ImportFormat importFormat = format != null
+                    ? ImportFormat.fromName(format)
+                    : ImportFormat.detect(request.getContentType());
+            ImportReport report = bulkImportService.importRows(importKind, importFormat, request.getInputStream());
+            String message = report.isAborted()
+                    ? "Import stopped at a malformed row: " + report.getAbortReason()
+                    : "Import finished";
+            return ResponseEntity.ok(new ApiResponse(!report.isAborted(), message, report));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(new ApiResponse(false, e.getMessage()));
+        } catch (Exception e) {
+            logger.error("Error importing {}: {}", kind, e.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(new ApiResponse(false, "Error importing " + kind));
+        }
+    }
+}
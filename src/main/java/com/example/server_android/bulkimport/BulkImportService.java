@@ -0,0 +1,218 @@
+package com.example.server_android.bulkimport;
+
+import com.example.server_android.catalog.CatalogVersions;
+import com.example.server_android.sync.CatalogChangeLog;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+/**
+ * Streams words or questions from CSV or JSON and inserts them chunk by chunk, each chunk in its own
+ * transaction. Rows go in through JDBC batches because IDENTITY ids keep Hibernate from batching inserts.
+ * Duplicates are dropped both inside a chunk and against stored rows, which include the chunks already
+ * committed by the same import. A chunk that fails is rolled back and reported, and the import moves on.
+ */
+@Service
+public class BulkImportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(BulkImportService.class);
+
+    private final Map<ImportKind, ImportTarget<?>> targets = new EnumMap<>(ImportKind.class);
+    private final TransactionTemplate transactionTemplate;
+    private final CatalogChangeLog catalogChangeLog;
+    private final CatalogVersions catalogVersions;
+    private final ObjectMapper objectMapper;
+    private final int chunkSize;
+    private final int batchSize;
+    private final int maxErrorsPerChunk;
+
+    public BulkImportService(List<ImportTarget<?>> importTargets,
+                             TransactionTemplate transactionTemplate,
+                             CatalogChangeLog catalogChangeLog,
+                             CatalogVersions catalogVersions,
+                             ObjectMapper objectMapper,
+                             @Value("${import.chunk-size:5000}") int chunkSize,
+                             @Value("${import.batch-size:1000}") int batchSize,
+                             @Value("${import.max-errors-per-chunk:20}") int maxErrorsPerChunk) {
+        importTargets.forEach(target -> targets.put(target.kind(), target));
+        this.transactionTemplate = transactionTemplate;
+        this.catalogChangeLog = catalogChangeLog;
+        this.catalogVersions = catalogVersions;
+        this.objectMapper = objectMapper;
+        this.chunkSize = chunkSize;
+        this.batchSize = batchSize;
+        this.maxErrorsPerChunk = maxErrorsPerChunk;
+    }
+
+    public ImportReport importRows(ImportKind kind, ImportFormat format, InputStream input) {
+        return run(targets.get(kind), format, input);
+    }
+
+    private <T> ImportReport run(ImportTarget<T> target, ImportFormat format, InputStream input) {
+        long start = System.nanoTime();
+        ImportReport report = new ImportReport(target.kind(), format);
+        List<T> rows = new ArrayList<>(chunkSize);
+        List<Integer> lines = new ArrayList<>(chunkSize);
+        try (RowReader<T> reader = open(target, format, input)) {
+            T row;
+            while ((row = reader.next()) != null) {
+                rows.add(row);
+                lines.add(reader.line());
+                if (rows.size() == chunkSize) {
+                    report.add(importChunk(target, report.nextChunkNumber(), rows, lines));
+                    rows.clear();
+                    lines.clear();
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            // Randurile citite inainte de eroare se importa oricum
+            logger.warn("Import of {} stopped at a malformed row: {}", target.kind().getId(), e.getMessage());
+            report.abort(e.getMessage());
+        }
+        if (!rows.isEmpty()) {
+            report.add(importChunk(target, report.nextChunkNumber(), rows, lines));
+        }
+        report.finish((System.nanoTime() - start) / 1_000_000);
+        logger.info("Import of {} finished in {} ms: {} rows, {} inserted, {} duplicates, {} invalid, {} failed chunks",
+                target.kind().getId(), report.getDurationMillis(), report.getRowsRead(), report.getInserted(),
+                report.getDuplicates(), report.getInvalid(), report.getFailedChunks());
+        return report;
+    }
+
+    private <T> ChunkReport importChunk(ImportTarget<T> target, int number, List<T> rows, List<Integer> lines) {
+        long start = System.nanoTime();
+        ChunkReport chunk = new ChunkReport(number, lines.get(0), lines.get(lines.size() - 1), rows.size());
+
+        Set<String> seen = new HashSet<>();
+        List<T> valid = new ArrayList<>(rows.size());
+        for (int i = 0; i < rows.size(); i++) {
+            T row = rows.get(i);
+            String error = target.validate(row);
+            if (error != null) {
+                chunk.invalid(lines.get(i), error, maxErrorsPerChunk);
+            } else if (!seen.add(target.dedupKey(row))) {
+                chunk.duplicates(1);
+            } else {
+                valid.add(row);
+            }
+        }
+
+        if (!valid.isEmpty()) {
+            try {
+                Integer inserted = transactionTemplate.execute(status -> {
+                    Set<String> existing = target.existingKeys(valid);
+                    List<T> fresh = new ArrayList<>(valid.size());
+                    for (T row : valid) {
+                        if (!existing.contains(target.dedupKey(row))) {
+                            fresh.add(row);
+                        }
+                    }
+                    if (fresh.isEmpty()) {
+                        return 0;
+                    }
+                    long lastIdBefore = catalogChangeLog.lastEntityId(target.table());
+                    target.insert(fresh, batchSize);
+                    catalogChangeLog.recordInsertedAfter(target.catalog(), target.table(), lastIdBefore);
+                    catalogVersions.bumpAfterCommit(target.catalog());
+                    return fresh.size();
+                });
+                chunk.inserted(inserted);
+                chunk.duplicates(valid.size() - inserted);
+            } catch (RuntimeException e) {
+                logger.error("Import of {} chunk {} rolled back: {}", target.kind().getId(), number, e.getMessage());
+                chunk.fail(e.getMessage());
+            }
+        }
+
+        chunk.finish((System.nanoTime() - start) / 1_000_000);
+        logger.info("Import of {} chunk {} (lines {}-{}): {} inserted, {} duplicates, {} invalid in {} ms",
+                target.kind().getId(), number, chunk.getFirstLine(), chunk.getLastLine(), chunk.getInserted(),
+                chunk.getDuplicates(), chunk.getInvalid(), chunk.getDurationMillis());
+        return chunk;
+    }
+
+    private <T> RowReader<T> open(ImportTarget<T> target, ImportFormat format, InputStream input) throws IOException {
+        if (format == ImportFormat.CSV) {
+            return new CsvRowReader<>(target, input);
+        }
+        return new JsonRowReader<>(objectMapper.readerFor(target.rowType()).readValues(input));
+    }
+
+    private interface RowReader<T> extends Closeable {
+
+        /** Next row, or null at the end of the input. */
+        T next() throws IOException;
+
+        int line();
+    }
+
+    private static class CsvRowReader<T> implements RowReader<T> {
+        private final ImportTarget<T> target;
+        private final CsvReader csv;
+        private final List<String> header = new ArrayList<>();
+
+        CsvRowReader(ImportTarget<T> target, InputStream input) throws IOException {
+            this.target = target;
+            this.csv = new CsvReader(new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8), 1 << 16));
+            List<String> names = csv.next();
+            if (names != null) {
+                for (String name : names) {
+                    header.add(name.replace("\uFEFF", "").strip().toLowerCase(Locale.ROOT));
+                }
+            }
+        }
+
+        @Override
+        public T next() throws IOException {
+            List<String> fields = header.isEmpty() ? null : csv.next();
+            if (fields == null) {
+                return null;
+            }
+            Map<String, String> record = new HashMap<>();
+            for (int i = 0; i < header.size() && i < fields.size(); i++) {
+                record.put(header.get(i), fields.get(i));
+            }
+            return target.fromCsv(record);
+        }
+
+        @Override
+        public int line() {
+            return csv.getRecordLine();
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+
+    private static class JsonRowReader<T> implements RowReader<T> {
+        private final MappingIterator<T> values;
+
+        JsonRowReader(MappingIterator<T> values) {
+            this.values = values;
+        }
+
+        @Override
+        public T next() throws IOException {
+            return values.hasNextValue() ? values.nextValue() : null;
+        }
+
+        @Override
+        public int line() {
+            return values.getCurrentLocation().getLineNr();
+        }
+
+        @Override
+        public void close() throws IOException {
+            values.close();
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.example.server_android.bulkimport;
+
+import lombok.Getter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Getter
+public class ChunkReport {
+    private final int chunk;
+    private final int firstLine;
+    private final int lastLine;
+    private final int rows;
+    private int inserted;
+    private int duplicates;
+    private int invalid;
+    private boolean failed;
+    private long durationMillis;
+    private final List<String> errors = new ArrayList<>();
+
+    ChunkReport(int chunk, int firstLine, int lastLine, int rows) {
+        this.chunk = chunk;
+        this.firstLine = firstLine;
+        this.lastLine = lastLine;
+        this.rows = rows;
+    }
+
+    void invalid(int line, String reason, int maxErrors) {
+        invalid++;
+        if (errors.size() < maxErrors) {
+            errors.add("line " + line + ": " + reason);
+        }
+    }
+
+    void duplicates(int count) {
+        duplicates += count;
+    }
+
+    void inserted(int count) {
+        inserted += count;
+    }
+
+    void fail(String reason) {
+        failed = true;
+        errors.add("chunk rolled back: " + reason);
+    }
+
+    void finish(long durationMillis) {
+        this.durationMillis = durationMillis;
+    }
+}
@@ -0,0 +1,62 @@
+package com.example.server_android.bulkimport;
+
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.ExitCodeGenerator;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * CLI mode: imports one file at startup; the application then exits, non-zero if the import stopped early or
+ * a chunk failed. The exit code is reported as an {@link ExitCodeGenerator} and the exit itself happens in main.
+ * {@code java -jar server_android.jar --spring.main.web-application-type=none --import.kind=words --import.file=words.csv}
+ */
+@Component
+@ConditionalOnProperty(name = "import.file")
+@RequiredArgsConstructor
+public class ImportCommandLineRunner implements ApplicationRunner, ExitCodeGenerator {
+
+    private static final Logger logger = LoggerFactory.getLogger(ImportCommandLineRunner.class);
+
+    private final BulkImportService bulkImportService;
+
+    @Value("${import.file}")
+    private String file;
+    @Value("${import.kind}")
+    private String kind;
+    @Value("${import.format:}")
+    private String format;
+
+    private int exitCode;
+
+    @Override
+    public void run(ApplicationArguments args) throws IOException {
+        Path path = Path.of(file);
+        ImportFormat importFormat = format.isBlank()
+                ? ImportFormat.detect(path.getFileName().toString())
+                : ImportFormat.fromName(format);
+        ImportReport report;
+        try (InputStream input = new BufferedInputStream(Files.newInputStream(path), 1 << 16)) {
+            report = bulkImportService.importRows(ImportKind.fromId(kind), importFormat, input);
+        }
+        if (report.isAborted()) {
+            logger.error("Import of {} stopped: {}", path, report.getAbortReason());
+        }
+        exitCode = report.isAborted() || report.getFailedChunks() > 0 ? 1 : 0;
+    }
+
+    @Override
+    public int getExitCode() {
+        return exitCode;
+    }
+}
@@ -0,0 +1,20 @@
+package com.example.server_android.bulkimport;
+
+public enum ImportFormat {
+    CSV,
+    JSON;
+
+    public static ImportFormat fromName(String name) {
+        for (ImportFormat format : values()) {
+            if (format.name().equalsIgnoreCase(name)) {
+                return format;
+            }
+        }
+        throw new IllegalArgumentException("Unknown import format: " + name);
+    }
+
+    /** Guesses the format from a file name or content type, defaulting to JSON. */
+    public static ImportFormat detect(String hint) {
+        return hint != null && hint.toLowerCase().contains("csv") ? CSV : JSON;
+    }
+}
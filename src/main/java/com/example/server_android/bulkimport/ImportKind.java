@@ -0,0 +1,25 @@
+package com.example.server_android.bulkimport;
+
+public enum ImportKind {
+    WORDS("words"),
+    QUESTIONS("questions");
+
+    private final String id;
+
+    ImportKind(String id) {
+        this.id = id;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public static ImportKind fromId(String id) {
+        for (ImportKind kind : values()) {
+            if (kind.id.equalsIgnoreCase(id)) {
+                return kind;
+            }
+        }
+        throw new IllegalArgumentException("Unknown import kind: " + id);
+    }
+}
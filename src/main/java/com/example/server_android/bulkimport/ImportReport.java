@@ -0,0 +1,50 @@
+package com.example.server_android.bulkimport;
+
+import lombok.Getter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Getter
+public class ImportReport {
+    private final ImportKind kind;
+    private final ImportFormat format;
+    private long rowsRead;
+    private long inserted;
+    private long duplicates;
+    private long invalid;
+    private int failedChunks;
+    private boolean aborted;
+    private String abortReason;
+    private long durationMillis;
+    private final List<ChunkReport> chunks = new ArrayList<>();
+
+    ImportReport(ImportKind kind, ImportFormat format) {
+        this.kind = kind;
+        this.format = format;
+    }
+
+    int nextChunkNumber() {
+        return chunks.size() + 1;
+    }
+
+    void add(ChunkReport chunk) {
+        chunks.add(chunk);
+        rowsRead += chunk.getRows();
+        inserted += chunk.getInserted();
+        duplicates += chunk.getDuplicates();
+        invalid += chunk.getInvalid();
+        if (chunk.isFailed()) {
+            failedChunks++;
+        }
+    }
+
+    void abort(String reason) {
+        aborted = true;
+        abortReason = reason;
+    }
+
+    void finish(long durationMillis) {
+        this.durationMillis = durationMillis;
+    }
+}
@@ -0,0 +1,35 @@
+package com.example.server_android.bulkimport;
+
+import com.example.server_android.catalog.Catalog;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * How one kind of catalog row is parsed, validated, deduplicated and inserted by {@link BulkImportService}.
+ */
+public interface ImportTarget<T> {
+
+    ImportKind kind();
+
+    Catalog catalog();
+
+    /** Table the rows end up in, used to record the inserted ids in the sync change log. */
+    String table();
+
+    Class<T> rowType();
+
+    /** Builds a row from a CSV record keyed by lower-cased header names. */
+    T fromCsv(Map<String, String> record);
+
+    /** Returns null when the row is valid, otherwise the reason it is rejected. */
+    String validate(T row);
+
+    String dedupKey(T row);
+
+    /** Keys of rows among the given ones that are already stored. */
+    Set<String> existingKeys(List<T> rows);
+
+    void insert(List<T> rows, int batchSize);
+}
@@ -0,0 +1,15 @@
+package com.example.server_android.bulkimport;
+
+import lombok.*;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class QuestionImportRow {
+    private String type;
+    private String questionText;
+    private String correctAnswer;
+    private String otherAnswers;
+    private Long testId;
+    private Long subcategoryId;
+}
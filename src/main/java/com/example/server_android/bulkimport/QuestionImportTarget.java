@@ -0,0 +1,130 @@
+package com.example.server_android.bulkimport;
+
+import com.example.server_android.catalog.Catalog;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Types;
+import java.util.*;
+
+@Component
+@RequiredArgsConstructor
+public class QuestionImportTarget implements ImportTarget<QuestionImportRow> {
+
+    private static final int MAX_LENGTH = 255;
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    @Override
+    public ImportKind kind() {
+        return ImportKind.QUESTIONS;
+    }
+
+    @Override
+    public Catalog catalog() {
+        return Catalog.QUESTIONS;
+    }
+
+    @Override
+    public String table() {
+        return "questions";
+    }
+
+    @Override
+    public Class<QuestionImportRow> rowType() {
+        return QuestionImportRow.class;
+    }
+
+    @Override
+    public QuestionImportRow fromCsv(Map<String, String> record) {
+        return new QuestionImportRow(
+                record.get("type"),
+                record.get("questiontext"),
+                record.get("correctanswer"),
+                record.get("otheranswers"),
+                parseId(record.get("testid")),
+                parseId(record.get("subcategoryid")));
+    }
+
+    @Override
+    public String validate(QuestionImportRow row) {
+        if (row.getSubcategoryId() == null) {
+            return "subcategoryId is required";
+        }
+        if (isBlank(row.getQuestionText()) || isBlank(row.getCorrectAnswer())) {
+            return "questionText and correctAnswer are required";
+        }
+        if (tooLong(row.getType()) || tooLong(row.getQuestionText()) || tooLong(row.getCorrectAnswer())
+                || tooLong(row.getOtherAnswers())) {
+            return "fields cannot be longer than " + MAX_LENGTH + " characters";
+        }
+        return null;
+    }
+
+    @Override
+    public String dedupKey(QuestionImportRow row) {
+        return key(row.getSubcategoryId(), row.getQuestionText());
+    }
+
+    @Override
+    public Set<String> existingKeys(List<QuestionImportRow> rows) {
+        Set<Long> subcategoryIds = new HashSet<>();
+        Set<String> texts = new HashSet<>();
+        for (QuestionImportRow row : rows) {
+            subcategoryIds.add(row.getSubcategoryId());
+            texts.add(row.getQuestionText().strip());
+        }
+        Set<String> keys = new HashSet<>();
+        jdbcTemplate.query("select subcategory_id, questionText from questions " +
+                        "where subcategory_id in (:subcategoryIds) and questionText in (:texts)",
+                Map.of("subcategoryIds", subcategoryIds, "texts", texts),
+                rs -> {
+                    keys.add(key(rs.getLong(1), rs.getString(2)));
+                });
+        return keys;
+    }
+
+    @Override
+    public void insert(List<QuestionImportRow> rows, int batchSize) {
+        jdbcTemplate.getJdbcTemplate().batchUpdate(
+                "insert into questions (type, questionText, correctAnswer, otherAnswers, test_id, subcategory_id) " +
+                        "values (?, ?, ?, ?, ?, ?)",
+                rows, batchSize,
+                (ps, row) -> {
+                    ps.setString(1, row.getType());
+                    ps.setString(2, row.getQuestionText().strip());
+                    ps.setString(3, row.getCorrectAnswer().strip());
+                    ps.setString(4, row.getOtherAnswers());
+                    if (row.getTestId() != null) {
+                        ps.setLong(5, row.getTestId());
+                    } else {
+                        ps.setNull(5, Types.BIGINT);
+                    }
+                    ps.setLong(6, row.getSubcategoryId());
+                });
+    }
+
+    private static String key(Long subcategoryId, String questionText) {
+        return subcategoryId + ":" + questionText.strip().toLowerCase(Locale.ROOT);
+    }
+
+    private static Long parseId(String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        try {
+            return Long.parseLong(value.strip());
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.isBlank();
+    }
+
+    private static boolean tooLong(String value) {
+        return value != null && value.length() > MAX_LENGTH;
+    }
+}
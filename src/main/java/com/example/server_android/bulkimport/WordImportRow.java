@@ -0,0 +1,11 @@
+package com.example.server_android.bulkimport;
+
+import lombok.*;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class WordImportRow {
+    private String englishWord;
+    private String romanianWord;
+}
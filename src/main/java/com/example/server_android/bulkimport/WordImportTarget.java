@@ -0,0 +1,92 @@
+package com.example.server_android.bulkimport;
+
+import com.example.server_android.catalog.Catalog;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+
+@Component
+@RequiredArgsConstructor
+public class WordImportTarget implements ImportTarget<WordImportRow> {
+
+    private static final int MAX_LENGTH = 255;
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    @Override
+    public ImportKind kind() {
+        return ImportKind.WORDS;
+    }
+
+    @Override
+    public Catalog catalog() {
+        return Catalog.WORDS;
+    }
+
+    @Override
+    public String table() {
+        return "words";
+    }
+
+    @Override
+    public Class<WordImportRow> rowType() {
+        return WordImportRow.class;
+    }
+
+    @Override
+    public WordImportRow fromCsv(Map<String, String> record) {
+        return new WordImportRow(record.get("englishword"), record.get("romanianword"));
+    }
+
+    @Override
+    public String validate(WordImportRow row) {
+        if (isBlank(row.getEnglishWord()) || isBlank(row.getRomanianWord())) {
+            return "englishWord and romanianWord are required";
+        }
+        if (row.getEnglishWord().length() > MAX_LENGTH || row.getRomanianWord().length() > MAX_LENGTH) {
+            return "words cannot be longer than " + MAX_LENGTH + " characters";
+        }
+        return null;
+    }
+
+    @Override
+    public String dedupKey(WordImportRow row) {
+        return key(row.getEnglishWord(), row.getRomanianWord());
+    }
+
+    @Override
+    public Set<String> existingKeys(List<WordImportRow> rows) {
+        Set<String> englishWords = new HashSet<>();
+        for (WordImportRow row : rows) {
+            englishWords.add(row.getEnglishWord().strip());
+        }
+        Set<String> keys = new HashSet<>();
+        jdbcTemplate.query("select englishWord, romanianWord from words where englishWord in (:englishWords)",
+                Map.of("englishWords", englishWords),
+                rs -> {
+                    keys.add(key(rs.getString(1), rs.getString(2)));
+                });
+        return keys;
+    }
+
+    @Override
+    public void insert(List<WordImportRow> rows, int batchSize) {
+        jdbcTemplate.getJdbcTemplate().batchUpdate(
+                "insert into words (englishWord, romanianWord) values (?, ?)",
+                rows, batchSize,
+                (ps, row) -> {
+                    ps.setString(1, row.getEnglishWord().strip());
+                    ps.setString(2, row.getRomanianWord().strip());
+                });
+    }
+
+    private static String key(String englishWord, String romanianWord) {
+        return englishWord.strip().toLowerCase(Locale.ROOT) + '\u0000' + romanianWord.strip().toLowerCase(Locale.ROOT);
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.isBlank();
+    }
+}
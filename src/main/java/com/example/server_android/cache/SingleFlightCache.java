@@ -0,0 +1,136 @@
+package com.example.server_android.cache;
+
+import com.example.server_android.metrics.LatencyHistogram;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Read-through cache with a TTL where concurrent misses on the same key share a single load:
+ * the first caller runs the loader and the others wait for its result. A load started before the last
+ * invalidation is never joined, since its result may already be stale; the next caller starts a fresh one.
+ */
+public class SingleFlightCache<K, V> {
+
+    private final long ttlMillis;
+    private final ConcurrentHashMap<K, Entry<V>> entries = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<K, Flight<V>> inFlight = new ConcurrentHashMap<>();
+    private final AtomicLong generation = new AtomicLong();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder coalesced = new LongAdder();
+    private final LongAdder loadFailures = new LongAdder();
+    private final LatencyHistogram loadTimes = new LatencyHistogram();
+
+    public SingleFlightCache(long ttlMillis) {
+        this.ttlMillis = ttlMillis;
+    }
+
+    public V get(K key, Supplier<V> loader) {
+        Entry<V> entry = entries.get(key);
+        if (entry != null && entry.expiresAtMillis > System.currentTimeMillis()) {
+            hits.increment();
+            return entry.value;
+        }
+        misses.increment();
+
+        long loadGeneration = generation.get();
+        Flight<V> load = new Flight<>(loadGeneration);
+        while (true) {
+            Flight<V> existing = inFlight.putIfAbsent(key, load);
+            if (existing == null) {
+                break;
+            }
+            if (existing.generation >= loadGeneration) {
+                coalesced.increment();
+                return await(existing.future);
+            }
+            // Incarcarea in curs a pornit inainte de invalidare, deci o inlocuim in loc sa o asteptam
+            if (inFlight.replace(key, existing, load)) {
+                break;
+            }
+        }
+        try {
+            // Another caller may have finished loading between our miss and taking the slot
+            entry = entries.get(key);
+            if (entry != null && entry.expiresAtMillis > System.currentTimeMillis()) {
+                load.future.complete(entry.value);
+                return entry.value;
+            }
+            long start = System.nanoTime();
+            V value = loader.get();
+            loadTimes.record(System.nanoTime() - start);
+            if (generation.get() == loadGeneration) {
+                entries.put(key, new Entry<>(value, System.currentTimeMillis() + ttlMillis));
+            }
+            load.future.complete(value);
+            return value;
+        } catch (RuntimeException e) {
+            loadFailures.increment();
+            load.future.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, load);
+        }
+    }
+
+    public void invalidate(K key) {
+        generation.incrementAndGet();
+        entries.remove(key);
+    }
+
+    public void invalidateAll() {
+        generation.incrementAndGet();
+        entries.clear();
+    }
+
+    public Map<String, Object> stats() {
+        long hitCount = hits.sum();
+        long missCount = misses.sum();
+        Map<String, Object> snapshot = new LinkedHashMap<>();
+        snapshot.put("size", entries.size());
+        snapshot.put("hits", hitCount);
+        snapshot.put("misses", missCount);
+        snapshot.put("hitRatio", hitCount + missCount == 0 ? 0.0 : (double) hitCount / (hitCount + missCount));
+        snapshot.put("coalescedLoads", coalesced.sum());
+        snapshot.put("loadFailures", loadFailures.sum());
+        snapshot.put("loadTimes", loadTimes.snapshot());
+        return snapshot;
+    }
+
+    private static <V> V await(CompletableFuture<V> load) {
+        try {
+            return load.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw e;
+        }
+    }
+
+    private static class Flight<V> {
+        private final CompletableFuture<V> future = new CompletableFuture<>();
+        private final long generation;
+
+        Flight(long generation) {
+            this.generation = generation;
+        }
+    }
+
+    private static class Entry<V> {
+        private final V value;
+        private final long expiresAtMillis;
+
+        Entry(V value, long expiresAtMillis) {
+            this.value = value;
+            this.expiresAtMillis = expiresAtMillis;
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package com.example.server_android.catalog;
+
+public enum Catalog {
+    CATEGORIES("categories"),
+    SUBCATEGORIES("subcategories"),
+    WORDS("words"),
+    QUESTIONS("questions");
+
+    private final String id;
+
+    Catalog(String id) {
+        this.id = id;
+    }
+
+    public String getId() {
+        return id;
+    }
+}
@@ -0,0 +1,63 @@
+package com.example.server_android.catalog;
+
+import com.example.server_android.Category;
+import com.example.server_android.SubcategoryDTO;
+import com.example.server_android.cache.SingleFlightCache;
+import com.example.server_android.metrics.MetricsSource;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Caches for the catalog views, dropped whenever {@link CatalogVersions} reports a change to their catalog.
+ * Words are not cached here: {@code /words} streams them with constant heap and answers 304 from the version.
+ */
+@Component
+public class CatalogCaches implements MetricsSource {
+
+    public static final String ALL = "all";
+
+    private final SingleFlightCache<String, List<Category>> categories;
+    private final SingleFlightCache<Long, List<SubcategoryDTO>> subcategoriesByCategory;
+
+    public CatalogCaches(@Value("${catalog.cache.ttl-seconds:300}") long ttlSeconds) {
+        long ttlMillis = ttlSeconds * 1000;
+        this.categories = new SingleFlightCache<>(ttlMillis);
+        this.subcategoriesByCategory = new SingleFlightCache<>(ttlMillis);
+    }
+
+    public SingleFlightCache<String, List<Category>> categories() {
+        return categories;
+    }
+
+    public SingleFlightCache<Long, List<SubcategoryDTO>> subcategoriesByCategory() {
+        return subcategoriesByCategory;
+    }
+
+    @EventListener
+    public void onCatalogChanged(CatalogChangedEvent event) {
+        switch (event.getCatalog()) {
+            case CATEGORIES -> categories.invalidateAll();
+            case SUBCATEGORIES -> subcategoriesByCategory.invalidateAll();
+            default -> {
+            }
+        }
+    }
+
+    @Override
+    public String metricsName() {
+        return "catalogCaches";
+    }
+
+    @Override
+    public Object metricsSnapshot() {
+        Map<String, Object> snapshot = new LinkedHashMap<>();
+        snapshot.put("categories", categories.stats());
+        snapshot.put("subcategoriesByCategory", subcategoriesByCategory.stats());
+        return snapshot;
+    }
+}
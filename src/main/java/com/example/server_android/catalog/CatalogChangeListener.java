@@ -0,0 +1,72 @@
+package com.example.server_android.catalog;
+
+import com.example.server_android.Category;
+import com.example.server_android.Subcategory;
+import com.example.server_android.exam.Question;
+import com.example.server_android.words.Word;
+import com.example.server_android.sync.CatalogChangeLog;
+import com.example.server_android.sync.ChangeOperation;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+/**
+ * JPA listener on the catalog entities: appends to the sync change log and bumps the catalog version.
+ * Bulk JPQL or native statements bypass it and must call {@link CatalogChangeLog#record} and
+ * {@link CatalogVersions#bumpAfterCommit(Catalog)} themselves.
+ */
+@Component
+@RequiredArgsConstructor
+public class CatalogChangeListener {
+
+    private final CatalogVersions catalogVersions;
+    private final CatalogChangeLog catalogChangeLog;
+
+    @PostPersist
+    @PostUpdate
+    public void onUpsert(Object entity) {
+        onChange(entity, ChangeOperation.UPSERT);
+    }
+
+    @PostRemove
+    public void onRemove(Object entity) {
+        onChange(entity, ChangeOperation.DELETE);
+    }
+
+    private void onChange(Object entity, ChangeOperation operation) {
+        Catalog catalog = catalogOf(entity);
+        catalogChangeLog.record(catalog, idOf(entity), operation);
+        catalogVersions.bumpAfterCommit(catalog);
+    }
+
+    private static Catalog catalogOf(Object entity) {
+        if (entity instanceof Category) {
+            return Catalog.CATEGORIES;
+        }
+        if (entity instanceof Subcategory) {
+            return Catalog.SUBCATEGORIES;
+        }
+        if (entity instanceof Word) {
+            return Catalog.WORDS;
+        }
+        if (entity instanceof Question) {
+            return Catalog.QUESTIONS;
+        }
+        throw new IllegalArgumentException("Not a catalog entity: " + entity.getClass().getName());
+    }
+
+    private static Long idOf(Object entity) {
+        if (entity instanceof Category category) {
+            return category.getId();
+        }
+        if (entity instanceof Subcategory subcategory) {
+            return subcategory.getId();
+        }
+        if (entity instanceof Word word) {
+            return word.getId();
+        }
+        return ((Question) entity).getId();
+    }
+}
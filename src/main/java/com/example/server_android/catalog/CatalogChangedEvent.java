@@ -0,0 +1,8 @@
+package com.example.server_android.catalog;
+
+import lombok.Value;
+
+@Value
+public class CatalogChangedEvent {
+    Catalog catalog;
+}
@@ -0,0 +1,10 @@
+package com.example.server_android.catalog;
+
+import lombok.Value;
+
+@Value
+public class CatalogVersion {
+    String eTag;
+    long version;
+    long lastModifiedMillis;
+}
@@ -0,0 +1,65 @@
+package com.example.server_android.catalog;
+
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Keeps a monotonically increasing version per catalog. Readers must take the version before they
+ * query the data: a write that commits in between then yields new data under the old ETag, which the
+ * client simply revalidates next time, never old data under the new ETag.
+ */
+@Component
+public class CatalogVersions {
+
+    private final long epoch = System.currentTimeMillis();
+    private final Map<Catalog, AtomicLong> versions = new EnumMap<>(Catalog.class);
+    private final Map<Catalog, AtomicLong> lastModified = new EnumMap<>(Catalog.class);
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    public CatalogVersions(ApplicationEventPublisher eventPublisher) {
+        this.eventPublisher = eventPublisher;
+        for (Catalog catalog : Catalog.values()) {
+            versions.put(catalog, new AtomicLong());
+            lastModified.put(catalog, new AtomicLong(epoch));
+        }
+    }
+
+    public CatalogVersion current(Catalog catalog) {
+        long version = versions.get(catalog).get();
+        String eTag = "\"" + catalog.getId() + "-" + Long.toString(epoch, 36) + "-" + version + "\"";
+        return new CatalogVersion(eTag, version, lastModified.get(catalog).get());
+    }
+
+    /**
+     * Bumps the version once the surrounding transaction commits, or right away outside a transaction.
+     */
+    public void bumpAfterCommit(Catalog catalog) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    bump(catalog);
+                }
+            });
+        } else {
+            bump(catalog);
+        }
+    }
+
+    /**
+     * Drops the cached views first and only then moves the version, so a reader that sees the new version
+     * can no longer be served a view cached before the change.
+     */
+    public void bump(Catalog catalog) {
+        eventPublisher.publishEvent(new CatalogChangedEvent(catalog));
+        lastModified.get(catalog).accumulateAndGet(System.currentTimeMillis(), Math::max);
+        versions.get(catalog).incrementAndGet();
+    }
+}
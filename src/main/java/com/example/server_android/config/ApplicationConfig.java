@@ -1,7 +1,8 @@
 package com.example.server_android.config;
 
-import com.example.server_android.user.UserRepository;
+import com.example.server_android.user.UserPrincipalCache;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -11,16 +12,25 @@ import org.springframework.security.config.annotation.authentication.configurati
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
-import org.springframework.security.crypto.password.PasswordEncoder;
 
 @Configuration
 @RequiredArgsConstructor
 public class ApplicationConfig {
 
-    private final UserRepository userRepository;
+    private final UserPrincipalCache userPrincipalCache;
+
+    @Value("${security.bcrypt.strength:10}")
+    private int bcryptStrength;
+    @Value("${security.bcrypt.pool-size:4}")
+    private int bcryptPoolSize;
+    @Value("${security.bcrypt.queue-capacity:64}")
+    private int bcryptQueueCapacity;
+    @Value("${security.bcrypt.retry-after-seconds:1}")
+    private long bcryptRetryAfterSeconds;
+
     @Bean
     public UserDetailsService userDetailsService() {
-        return username -> userRepository.findByEmail(username)
+        return username -> userPrincipalCache.findByEmail(username)
                 .orElseThrow(() -> new UsernameNotFoundException("User not found"));
     }
 
@@ -38,7 +48,8 @@ public class ApplicationConfig {
     }
 
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public BoundedPasswordEncoder passwordEncoder() {
+        return new BoundedPasswordEncoder(new BCryptPasswordEncoder(bcryptStrength),
+                bcryptPoolSize, bcryptQueueCapacity, bcryptRetryAfterSeconds);
     }
 }
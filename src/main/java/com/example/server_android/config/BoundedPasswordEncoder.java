@@ -0,0 +1,112 @@
+package com.example.server_android.config;
+
+import com.example.server_android.metrics.LatencyHistogram;
+import com.example.server_android.metrics.MetricsSource;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Runs password hashing and verification on a fixed pool with a bounded queue, so a burst of
+ * logins cannot occupy every request thread with BCrypt work. When the queue is full callers get
+ * a {@link PasswordHashingBusyException} right away instead of waiting.
+ */
+public class BoundedPasswordEncoder implements PasswordEncoder, MetricsSource {
+
+    private final PasswordEncoder delegate;
+    private final ThreadPoolExecutor executor;
+    private final long retryAfterSeconds;
+    private final LatencyHistogram encodeTimes = new LatencyHistogram();
+    private final LatencyHistogram matchTimes = new LatencyHistogram();
+    private final LongAdder rejected = new LongAdder();
+
+    public BoundedPasswordEncoder(PasswordEncoder delegate, int poolSize, int queueCapacity, long retryAfterSeconds) {
+        this.delegate = delegate;
+        this.retryAfterSeconds = retryAfterSeconds;
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "password-hashing-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return submit(() -> delegate.encode(rawPassword), encodeTimes);
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return submit(() -> delegate.matches(rawPassword, encodedPassword), matchTimes);
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    @Override
+    public String metricsName() {
+        return "passwordHashing";
+    }
+
+    @Override
+    public Object metricsSnapshot() {
+        Map<String, Object> snapshot = new LinkedHashMap<>();
+        snapshot.put("poolSize", executor.getMaximumPoolSize());
+        snapshot.put("active", executor.getActiveCount());
+        snapshot.put("queueDepth", executor.getQueue().size());
+        snapshot.put("queueCapacity", executor.getQueue().size() + executor.getQueue().remainingCapacity());
+        snapshot.put("rejected", rejected.sum());
+        snapshot.put("encode", encodeTimes.snapshot());
+        snapshot.put("matches", matchTimes.snapshot());
+        return snapshot;
+    }
+
+    private <T> T submit(Callable<T> task, LatencyHistogram histogram) {
+        Future<T> future;
+        try {
+            future = executor.submit(() -> {
+                long start = System.nanoTime();
+                try {
+                    return task.call();
+                } finally {
+                    histogram.record(System.nanoTime() - start);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            throw new PasswordHashingBusyException(retryAfterSeconds);
+        }
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new PasswordHashingBusyException(retryAfterSeconds);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+}
@@ -1,5 +1,7 @@
 package com.example.server_android.config;
 
+import com.example.server_android.token.TokenRepository;
+import io.jsonwebtoken.JwtException;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -7,6 +9,7 @@ import jakarta.servlet.http.HttpServletResponse;
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
@@ -15,6 +18,8 @@ import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.Collection;
+import java.util.Optional;
 
 @Component
 @RequiredArgsConstructor
@@ -23,6 +28,9 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     final private JwtService jwtService;
     private final UserDetailsService userDetailsService;
+    private final VerifiedTokenCache verifiedTokenCache;
+    private final TokenRepository tokenRepository;
+
     @Override
     protected void doFilterInternal(
             @NonNull HttpServletRequest request,
@@ -35,25 +43,49 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             filterChain.doFilter(request, response);
             return;
         }
-        final String jwt;
-        final String userEmail;
-        jwt = authHeader.substring(7);
-        userEmail = jwtService.getUsernameFromToken(jwt);
-        if (userEmail != null && SecurityContextHolder.getContext().getAuthentication() == null) {
+        final String jwt = authHeader.substring(7);
+        if (SecurityContextHolder.getContext().getAuthentication() != null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        Optional<VerifiedTokenCache.CachedAuthentication> cached = verifiedTokenCache.get(jwt);
+        if (cached.isPresent()) {
+            authenticate(request, cached.get().getPrincipal(), cached.get().getAuthorities());
+            filterChain.doFilter(request, response);
+            return;
+        }
+        final VerifiedToken verifiedToken;
+        try {
+            verifiedToken = jwtService.verifyToken(jwt);
+        } catch (JwtException | IllegalArgumentException e) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        final String userEmail = verifiedToken.getSubject();
+        if (userEmail != null) {
+            // Citita inaintea verificarilor din baza de date: o revocare intrata intre timp anuleaza put-ul
+            long cacheGeneration = verifiedTokenCache.generation(userEmail);
             UserDetails userDetails = this.userDetailsService.loadUserByUsername(userEmail);
-            if (jwtService.isTokenValid(jwt, userDetails)) {
-                UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
-                        userDetails,
-                        null,
-                        userDetails.getAuthorities()
-                );
-                authToken.setDetails(
-                        new WebAuthenticationDetailsSource().buildDetails(request)
-                );
-                SecurityContextHolder.getContext().setAuthentication(authToken);
-                filterChain.doFilter(request, response);
+            // Semnatura valida nu ajunge: tokenul poate fi revocat la logout sau la un login nou,
+            // iar un cont neconfirmat nu se autentifica deloc
+            if (verifiedToken.isValidFor(userDetails) && userDetails.isEnabled() && tokenRepository.isActive(jwt)) {
+                verifiedTokenCache.put(jwt, userDetails, verifiedToken.getExpiration(), cacheGeneration);
+                authenticate(request, userDetails, userDetails.getAuthorities());
             }
         }
+        filterChain.doFilter(request, response);
+    }
 
+    private void authenticate(HttpServletRequest request, UserDetails userDetails,
+                              Collection<? extends GrantedAuthority> authorities) {
+        UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
+                userDetails,
+                null,
+                authorities
+        );
+        authToken.setDetails(
+                new WebAuthenticationDetailsSource().buildDetails(request)
+        );
+        SecurityContextHolder.getContext().setAuthentication(authToken);
     }
 }
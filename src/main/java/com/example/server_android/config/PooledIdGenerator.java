@@ -0,0 +1,38 @@
+package com.example.server_android.config;
+
+import org.hibernate.MappingException;
+import org.hibernate.engine.config.spi.ConfigurationService;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
+import org.hibernate.id.enhanced.StandardOptimizerDescriptor;
+import org.hibernate.service.ServiceRegistry;
+import org.hibernate.type.Type;
+
+import java.io.Serial;
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ * Sequence-style generator that hands out ids from an in-memory block (pooled-lo), so only one insert per
+ * block touches the table MySQL uses to emulate the sequence. The block size is the Hibernate setting
+ * {@value #BLOCK_SIZE_SETTING}, optionally overridden per sequence as {@code <setting>.<sequence_name>}.
+ */
+public class PooledIdGenerator extends SequenceStyleGenerator {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    public static final String BLOCK_SIZE_SETTING = "server_android.id.block-size";
+    private static final int DEFAULT_BLOCK_SIZE = 50;
+
+    @Override
+    public void configure(Type type, Properties parameters, ServiceRegistry serviceRegistry) throws MappingException {
+        Map<String, Object> settings = serviceRegistry.requireService(ConfigurationService.class).getSettings();
+        Object blockSize = settings.get(BLOCK_SIZE_SETTING + "." + parameters.getProperty(SEQUENCE_PARAM));
+        if (blockSize == null) {
+            blockSize = settings.getOrDefault(BLOCK_SIZE_SETTING, DEFAULT_BLOCK_SIZE);
+        }
+        parameters.setProperty(INCREMENT_PARAM, blockSize.toString());
+        parameters.setProperty(OPT_PARAM, StandardOptimizerDescriptor.POOLED_LO.getExternalName());
+        super.configure(type, parameters, serviceRegistry);
+    }
+}
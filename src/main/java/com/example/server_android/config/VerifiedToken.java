@@ -0,0 +1,21 @@
+package com.example.server_android.config;
+
+import lombok.Value;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.time.Instant;
+
+@Value
+public class VerifiedToken {
+    String subject;
+    Instant issuedAt;
+    Instant expiration;
+
+    public boolean isExpired() {
+        return expiration.isBefore(Instant.now());
+    }
+
+    public boolean isValidFor(UserDetails userDetails) {
+        return subject.equals(userDetails.getUsername()) && !isExpired();
+    }
+}
@@ -0,0 +1,220 @@
+package com.example.server_android.config;
+
+import com.example.server_android.metrics.CacheStats;
+import com.example.server_android.metrics.MetricsSource;
+import com.example.server_android.token.TokenDigest;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.ByteBuffer;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Remembers bearer tokens that already passed signature verification and the revocation check, keyed by
+ * their SHA-256 digest, so repeated requests with the same token skip the HMAC check and the lookups.
+ * Entries live until the token's {@code exp}; once the cache holds {@code jwt.cache.max-size} of them, a
+ * new entry displaces an old one. Callers read {@link #generation(String)} for the token's user before
+ * checking revocation and pass it to {@link #put}, so a token revoked meanwhile is not cached again.
+ * Generations are kept per user, so invalidating one user never drops another user's fill.
+ */
+@Component
+public class VerifiedTokenCache implements MetricsSource {
+
+    private static final long SWEEP_INTERVAL_MILLIS = 1000;
+    // Mult peste durata unei verificari; o generatie mai veche nu mai poate fi citita de un put in curs
+    private static final long GENERATION_RETENTION_MILLIS = 60_000;
+
+    private final int maxSize;
+    private final ConcurrentHashMap<ByteBuffer, CachedAuthentication> entries = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, Set<ByteBuffer>> keysByUser = new ConcurrentHashMap<>();
+    private final AtomicLong lastSweep = new AtomicLong();
+    private final AtomicLong invalidationCounter = new AtomicLong();
+    private final ConcurrentHashMap<String, Invalidation> invalidations = new ConcurrentHashMap<>();
+    private final AtomicLong lastInvalidationPrune = new AtomicLong();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public VerifiedTokenCache(@Value("${jwt.cache.max-size:10000}") int maxSize) {
+        this.maxSize = maxSize;
+    }
+
+    public Optional<CachedAuthentication> get(String token) {
+        ByteBuffer key = key(token);
+        CachedAuthentication cached = entries.get(key);
+        if (cached == null) {
+            misses.increment();
+            return Optional.empty();
+        }
+        if (cached.isExpired(System.currentTimeMillis())) {
+            evict(key, cached);
+            misses.increment();
+            return Optional.empty();
+        }
+        hits.increment();
+        return Optional.of(cached);
+    }
+
+    /** Changes whenever the user's tokens are invalidated. */
+    public long generation(String username) {
+        Invalidation invalidation = invalidations.get(username);
+        return invalidation != null ? invalidation.generation : 0;
+    }
+
+    public void put(String token, UserDetails userDetails, Instant expiration, long loadGeneration) {
+        String username = userDetails.getUsername();
+        if (generation(username) != loadGeneration) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        if (entries.size() >= maxSize) {
+            sweepExpired(now);
+            if (entries.size() >= maxSize) {
+                evictAny();
+            }
+        }
+        ByteBuffer key = key(token);
+        CachedAuthentication cached = new CachedAuthentication(
+                userDetails, userDetails.getAuthorities(), expiration.toEpochMilli());
+        entries.put(key, cached);
+        keysByUser.computeIfAbsent(username, name -> ConcurrentHashMap.newKeySet()).add(key);
+        // O invalidare intrata intre verificarea de mai sus si put castiga
+        if (generation(username) != loadGeneration) {
+            remove(key, cached);
+        }
+    }
+
+    public void invalidate(String token, String username) {
+        ByteBuffer key = key(token);
+        runNowAndAfterCompletion(() -> invalidateNow(key, username));
+    }
+
+    public void invalidateUser(String username) {
+        runNowAndAfterCompletion(() -> invalidateUserNow(username));
+    }
+
+    /** Runs now and, inside a transaction, again once it ends: until commit a concurrent request still sees the row as valid. */
+    private void runNowAndAfterCompletion(Runnable invalidation) {
+        invalidation.run();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    invalidation.run();
+                }
+            });
+        }
+    }
+
+    private void invalidateNow(ByteBuffer key, String username) {
+        bumpGeneration(username);
+        CachedAuthentication cached = entries.get(key);
+        if (cached != null) {
+            remove(key, cached);
+        }
+    }
+
+    private void invalidateUserNow(String username) {
+        bumpGeneration(username);
+        Set<ByteBuffer> keys = keysByUser.remove(username);
+        if (keys != null) {
+            keys.forEach(entries::remove);
+        }
+    }
+
+    private void bumpGeneration(String username) {
+        long now = System.currentTimeMillis();
+        invalidations.put(username, new Invalidation(invalidationCounter.incrementAndGet(), now));
+        long previous = lastInvalidationPrune.get();
+        if (now - previous >= GENERATION_RETENTION_MILLIS && lastInvalidationPrune.compareAndSet(previous, now)) {
+            invalidations.values().removeIf(invalidation -> now - invalidation.atMillis > GENERATION_RETENTION_MILLIS);
+        }
+    }
+
+    public CacheStats stats() {
+        return new CacheStats(entries.size(), hits.sum(), misses.sum(), evictions.sum());
+    }
+
+    @Override
+    public String metricsName() {
+        return "verifiedTokenCache";
+    }
+
+    @Override
+    public Object metricsSnapshot() {
+        return stats();
+    }
+
+    private void sweepExpired(long now) {
+        long previous = lastSweep.get();
+        if (now - previous < SWEEP_INTERVAL_MILLIS || !lastSweep.compareAndSet(previous, now)) {
+            return;
+        }
+        entries.forEach((key, cached) -> {
+            if (cached.isExpired(now)) {
+                evict(key, cached);
+            }
+        });
+    }
+
+    private void evictAny() {
+        for (Map.Entry<ByteBuffer, CachedAuthentication> entry : entries.entrySet()) {
+            if (remove(entry.getKey(), entry.getValue())) {
+                evictions.increment();
+                return;
+            }
+        }
+    }
+
+    private void evict(ByteBuffer key, CachedAuthentication cached) {
+        if (remove(key, cached)) {
+            evictions.increment();
+        }
+    }
+
+    private boolean remove(ByteBuffer key, CachedAuthentication cached) {
+        if (!entries.remove(key, cached)) {
+            return false;
+        }
+        keysByUser.computeIfPresent(cached.getPrincipal().getUsername(), (username, keys) -> {
+            keys.remove(key);
+            return keys.isEmpty() ? null : keys;
+        });
+        return true;
+    }
+
+    private static ByteBuffer key(String token) {
+        return ByteBuffer.wrap(TokenDigest.sha256(token));
+    }
+
+    @AllArgsConstructor
+    private static class Invalidation {
+        private final long generation;
+        private final long atMillis;
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class CachedAuthentication {
+        private final UserDetails principal;
+        private final Collection<? extends GrantedAuthority> authorities;
+        private final long expiresAtMillis;
+
+        boolean isExpired(long now) {
+            return expiresAtMillis <= now;
+        }
+    }
+}
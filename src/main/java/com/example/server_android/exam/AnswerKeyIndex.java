@@ -0,0 +1,53 @@
+package com.example.server_android.exam;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Correct answers of every question, looked up by binary search over a sorted long[] of ids.
+ * Stores the original answer for feedback next to its normalized form used for grading.
+ */
+public final class AnswerKeyIndex {
+
+    private final long[] ids;
+    private final String[] answers;
+    private final String[] normalizedAnswers;
+
+    private AnswerKeyIndex(long[] ids, String[] answers, String[] normalizedAnswers) {
+        this.ids = ids;
+        this.answers = answers;
+        this.normalizedAnswers = normalizedAnswers;
+    }
+
+    /** Expects the answers ordered by id, as {@link QuestionRepository#findAllAnswers()} returns them. */
+    public static AnswerKeyIndex of(List<QuestionAnswer> sortedAnswers) {
+        int size = sortedAnswers.size();
+        long[] ids = new long[size];
+        String[] answers = new String[size];
+        String[] normalizedAnswers = new String[size];
+        for (int i = 0; i < size; i++) {
+            QuestionAnswer answer = sortedAnswers.get(i);
+            ids[i] = answer.getId();
+            answers[i] = answer.getCorrectAnswer();
+            normalizedAnswers[i] = AnswerNormalizer.normalize(answer.getCorrectAnswer());
+        }
+        return new AnswerKeyIndex(ids, answers, normalizedAnswers);
+    }
+
+    public int size() {
+        return ids.length;
+    }
+
+    /** Position of the question in the index, or a negative value if it is unknown. */
+    public int indexOf(long questionId) {
+        return Arrays.binarySearch(ids, questionId);
+    }
+
+    public String answerAt(int index) {
+        return answers[index];
+    }
+
+    public boolean matches(int index, String answer) {
+        return normalizedAnswers[index].equals(AnswerNormalizer.normalize(answer));
+    }
+}
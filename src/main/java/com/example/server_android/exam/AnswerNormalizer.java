@@ -0,0 +1,38 @@
+package com.example.server_android.exam;
+
+import java.text.Normalizer;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * Canonical form used to compare answers: trimmed, single-spaced, lower case and without diacritics,
+ * so "Școală" and "scoala" match. Covers both the comma-below (ș, ț) and the legacy cedilla (ş, ţ) forms.
+ */
+public final class AnswerNormalizer {
+
+    private static final Pattern COMBINING_MARKS = Pattern.compile("\\p{M}+");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private AnswerNormalizer() {
+    }
+
+    public static String normalize(String answer) {
+        if (answer == null) {
+            return "";
+        }
+        String trimmed = answer.strip();
+        if (!isAscii(trimmed)) {
+            trimmed = COMBINING_MARKS.matcher(Normalizer.normalize(trimmed, Normalizer.Form.NFD)).replaceAll("");
+        }
+        return WHITESPACE.matcher(trimmed).replaceAll(" ").toLowerCase(Locale.ROOT);
+    }
+
+    private static boolean isAscii(String value) {
+        for (int i = 0; i < value.length(); i++) {
+            if (value.charAt(i) > 0x7F) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
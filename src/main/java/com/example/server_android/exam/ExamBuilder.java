@@ -0,0 +1,66 @@
+package com.example.server_android.exam;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Builds practice exams from the in-memory question pools. Everything random comes from one
+ * {@link SplittableRandom} seeded per exam, so sending the returned seed back reproduces the exam
+ * as long as the subcategory's questions did not change.
+ */
+@Service
+@RequiredArgsConstructor
+public class ExamBuilder {
+
+    private final QuestionPools questionPools;
+    private final QuestionRepository questionRepository;
+    private final QuestionService questionService;
+
+    @Value("${exam.max-questions:100}")
+    private int maxQuestions;
+
+    public GeneratedExam build(Long subcategoryId, int count, Long seed) {
+        if (count < 1 || count > maxQuestions) {
+            throw new IllegalArgumentException("Question count must be between 1 and " + maxQuestions);
+        }
+        long examSeed = seed != null ? seed : ThreadLocalRandom.current().nextLong();
+        SplittableRandom random = new SplittableRandom(examSeed);
+
+        long[] ids = questionPools.get(subcategoryId).sample(count, random);
+        if (ids.length == 0) {
+            return new GeneratedExam(examSeed, subcategoryId, List.of());
+        }
+
+        List<Long> idList = new ArrayList<>(ids.length);
+        for (long id : ids) {
+            idList.add(id);
+        }
+        Map<Long, QuestionDTO> byId = new HashMap<>();
+        for (QuestionDTO question : questionRepository.findDtosByIdIn(idList)) {
+            byId.put(question.getId(), question);
+        }
+
+        List<ExamQuestion> questions = new ArrayList<>(ids.length);
+        for (long id : ids) {
+            QuestionDTO question = byId.get(id);
+            // Sters intre incarcarea pool-ului si hidratare
+            if (question != null) {
+                questions.add(new ExamQuestion(question.getId(), question.getType(), question.getQuestionText(),
+                        shuffledAnswers(question, random)));
+            }
+        }
+        return new GeneratedExam(examSeed, subcategoryId, questions);
+    }
+
+    private List<String> shuffledAnswers(QuestionDTO question, SplittableRandom random) {
+        List<String> answers = questionService.answersOf(question);
+        for (int i = answers.size() - 1; i > 0; i--) {
+            Collections.swap(answers, i, random.nextInt(i + 1));
+        }
+        return answers;
+    }
+}
@@ -0,0 +1,15 @@
+package com.example.server_android.exam;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+@Getter
+@AllArgsConstructor
+public class ExamQuestion {
+    private Long id;
+    private String type;
+    private String questionText;
+    private List<String> answers;
+}
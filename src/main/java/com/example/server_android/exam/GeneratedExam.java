@@ -0,0 +1,14 @@
+package com.example.server_android.exam;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+@Getter
+@AllArgsConstructor
+public class GeneratedExam {
+    private long seed;
+    private Long subcategoryId;
+    private List<ExamQuestion> questions;
+}
@@ -0,0 +1,15 @@
+package com.example.server_android.exam;
+
+import jakarta.validation.constraints.NotEmpty;
+import lombok.*;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class GradeRequest {
+
+    @NotEmpty(message = "Answers cannot be empty")
+    private List<SubmittedAnswer> answers;
+}
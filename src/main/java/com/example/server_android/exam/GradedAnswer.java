@@ -0,0 +1,13 @@
+package com.example.server_android.exam;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class GradedAnswer {
+    private Long questionId;
+    private boolean known;
+    private boolean correct;
+    private String correctAnswer;
+}
@@ -0,0 +1,14 @@
+package com.example.server_android.exam;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+@Getter
+@AllArgsConstructor
+public class GradingResult {
+    private int total;
+    private int correct;
+    private List<GradedAnswer> results;
+}
@@ -0,0 +1,98 @@
+package com.example.server_android.exam;
+
+import com.example.server_android.cache.SingleFlightCache;
+import com.example.server_android.catalog.Catalog;
+import com.example.server_android.catalog.CatalogChangedEvent;
+import com.example.server_android.metrics.LatencyHistogram;
+import com.example.server_android.metrics.MetricsSource;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Grades submitted answers against an in-memory {@link AnswerKeyIndex}. The index is built from the whole
+ * question bank on first use and rebuilt lazily after the questions catalog changes, so grading itself
+ * never goes to the database.
+ */
+@Service
+public class GradingService implements MetricsSource {
+
+    private static final String ALL = "all";
+
+    private final QuestionRepository questionRepository;
+    private final SingleFlightCache<String, AnswerKeyIndex> answerKeys;
+    private final LatencyHistogram gradingTimes = new LatencyHistogram();
+
+    @Value("${exam.grade.max-answers:200}")
+    private int maxAnswers;
+
+    public GradingService(QuestionRepository questionRepository,
+                          @Value("${exam.answer-keys.ttl-seconds:3600}") long ttlSeconds) {
+        this.questionRepository = questionRepository;
+        this.answerKeys = new SingleFlightCache<>(ttlSeconds * 1000);
+    }
+
+    public GradingResult grade(List<SubmittedAnswer> submitted) {
+        if (submitted == null || submitted.isEmpty() || submitted.size() > maxAnswers) {
+            throw new IllegalArgumentException("Between 1 and " + maxAnswers + " answers can be graded at once");
+        }
+        AnswerKeyIndex index = answerKeys();
+
+        long start = System.nanoTime();
+        List<GradedAnswer> results = new ArrayList<>(submitted.size());
+        int correct = 0;
+        for (SubmittedAnswer answer : submitted) {
+            int position = answer.getQuestionId() == null ? -1 : index.indexOf(answer.getQuestionId());
+            if (position < 0) {
+                results.add(new GradedAnswer(answer.getQuestionId(), false, false, null));
+                continue;
+            }
+            boolean isCorrect = index.matches(position, answer.getAnswer());
+            if (isCorrect) {
+                correct++;
+            }
+            // Un raspuns gol nu primeste cheia, altfel cheia intregii banci s-ar putea cere fara niciun efort
+            boolean attempted = answer.getAnswer() != null && !answer.getAnswer().isBlank();
+            results.add(new GradedAnswer(answer.getQuestionId(), true, isCorrect,
+                    attempted ? index.answerAt(position) : null));
+        }
+        gradingTimes.record(System.nanoTime() - start);
+        return new GradingResult(submitted.size(), correct, results);
+    }
+
+    /** Whether the answer is correct; false for a question that is not in the bank. */
+    public boolean isCorrect(long questionId, String answer) {
+        AnswerKeyIndex index = answerKeys();
+        int position = index.indexOf(questionId);
+        return position >= 0 && index.matches(position, answer);
+    }
+
+    private AnswerKeyIndex answerKeys() {
+        return answerKeys.get(ALL, () -> AnswerKeyIndex.of(questionRepository.findAllAnswers()));
+    }
+
+    @EventListener
+    public void onCatalogChanged(CatalogChangedEvent event) {
+        if (event.getCatalog() == Catalog.QUESTIONS) {
+            answerKeys.invalidateAll();
+        }
+    }
+
+    @Override
+    public String metricsName() {
+        return "grading";
+    }
+
+    @Override
+    public Object metricsSnapshot() {
+        Map<String, Object> snapshot = new LinkedHashMap<>();
+        snapshot.put("answerKeys", answerKeys.stats());
+        snapshot.put("gradingTimes", gradingTimes.snapshot());
+        return snapshot;
+    }
+}
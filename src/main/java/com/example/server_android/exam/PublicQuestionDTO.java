@@ -0,0 +1,21 @@
+package com.example.server_android.exam;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * Question as served to clients: every answer in one alphabetical list, so the response does not tell which
+ * one is correct. Grading happens on the server.
+ */
+@Getter
+@AllArgsConstructor
+public class PublicQuestionDTO {
+    private Long id;
+    private String type;
+    private String questionText;
+    private List<String> answers;
+    private Long testId;
+    private Long subcategoryId;
+}
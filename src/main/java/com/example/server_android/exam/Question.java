@@ -1,10 +1,16 @@
 package com.example.server_android.exam;
 
+import com.example.server_android.catalog.CatalogChangeListener;
 import jakarta.persistence.*;
 import lombok.*;
 
 @Entity
-@Table(name = "questions")
+@Table(name = "questions", indexes = {
+        @Index(name = "idx_questions_subcategory_type", columnList = "subcategory_id, type"),
+        @Index(name = "idx_questions_test_type", columnList = "test_id, type"),
+        @Index(name = "idx_questions_subcategory_text", columnList = "subcategory_id, questionText")
+})
+@EntityListeners(CatalogChangeListener.class)
 @Getter
 @Setter
 @ToString
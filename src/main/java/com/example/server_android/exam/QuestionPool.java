@@ -0,0 +1,83 @@
+package com.example.server_android.exam;
+
+import java.util.*;
+
+/**
+ * Question ids of one subcategory grouped by type, kept in primitive arrays sorted by id so that the same
+ * seed always draws the same exam from the same pool. Immutable; sampling works on copies.
+ */
+public final class QuestionPool {
+
+    private static final long[][] NO_IDS = new long[0][];
+
+    private final long[][] idsByType;
+    private final int size;
+
+    private QuestionPool(long[][] idsByType, int size) {
+        this.idsByType = idsByType;
+        this.size = size;
+    }
+
+    public static QuestionPool of(List<QuestionRef> refs) {
+        if (refs.isEmpty()) {
+            return new QuestionPool(NO_IDS, 0);
+        }
+        Map<String, List<Long>> byType = new TreeMap<>();
+        for (QuestionRef ref : refs) {
+            String type = ref.getType() == null ? "" : ref.getType();
+            byType.computeIfAbsent(type, key -> new ArrayList<>()).add(ref.getId());
+        }
+        long[][] idsByType = new long[byType.size()][];
+        int t = 0;
+        for (List<Long> ids : byType.values()) {
+            long[] array = ids.stream().mapToLong(Long::longValue).toArray();
+            Arrays.sort(array);
+            idsByType[t++] = array;
+        }
+        return new QuestionPool(idsByType, refs.size());
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Draws up to {@code count} distinct ids, taking one question of each type in turn so that the exam mixes
+     * types even when one of them dominates the pool, then shuffles the result.
+     */
+    public long[] sample(int count, SplittableRandom random) {
+        int n = Math.min(count, size);
+        long[] picked = new long[n];
+        if (n == 0) {
+            return picked;
+        }
+        long[][] remaining = new long[idsByType.length][];
+        int[] taken = new int[idsByType.length];
+        int p = 0;
+        int t = random.nextInt(idsByType.length);
+        while (p < n) {
+            long[] source = idsByType[t];
+            if (taken[t] < source.length) {
+                if (remaining[t] == null) {
+                    remaining[t] = source.clone();
+                }
+                // Fisher-Yates partial: mutam elementul ales in zona deja extrasa
+                long[] ids = remaining[t];
+                int chosen = taken[t] + random.nextInt(ids.length - taken[t]);
+                swap(ids, taken[t], chosen);
+                picked[p++] = ids[taken[t]++];
+            }
+            t = (t + 1) % idsByType.length;
+        }
+        for (int i = n - 1; i > 0; i--) {
+            swap(picked, i, random.nextInt(i + 1));
+        }
+        return picked;
+    }
+
+    private static void swap(long[] array, int i, int j) {
+        long tmp = array[i];
+        array[i] = array[j];
+        array[j] = tmp;
+    }
+}
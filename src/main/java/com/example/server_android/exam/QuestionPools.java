@@ -0,0 +1,47 @@
+package com.example.server_android.exam;
+
+import com.example.server_android.cache.SingleFlightCache;
+import com.example.server_android.catalog.Catalog;
+import com.example.server_android.catalog.CatalogChangedEvent;
+import com.example.server_android.metrics.MetricsSource;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Per-subcategory {@link QuestionPool}s, loaded from the (subcategory_id, type) index on first use and
+ * dropped whenever the questions catalog changes.
+ */
+@Component
+public class QuestionPools implements MetricsSource {
+
+    private final QuestionRepository questionRepository;
+    private final SingleFlightCache<Long, QuestionPool> pools;
+
+    public QuestionPools(QuestionRepository questionRepository,
+                         @Value("${exam.pool.ttl-seconds:600}") long ttlSeconds) {
+        this.questionRepository = questionRepository;
+        this.pools = new SingleFlightCache<>(ttlSeconds * 1000);
+    }
+
+    public QuestionPool get(Long subcategoryId) {
+        return pools.get(subcategoryId, () -> QuestionPool.of(questionRepository.findRefsBySubcategoryId(subcategoryId)));
+    }
+
+    @EventListener
+    public void onCatalogChanged(CatalogChangedEvent event) {
+        if (event.getCatalog() == Catalog.QUESTIONS) {
+            pools.invalidateAll();
+        }
+    }
+
+    @Override
+    public String metricsName() {
+        return "questionPools";
+    }
+
+    @Override
+    public Object metricsSnapshot() {
+        return pools.stats();
+    }
+}
@@ -0,0 +1,11 @@
+package com.example.server_android.exam;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class QuestionRef {
+    private Long id;
+    private String type;
+}
@@ -1,8 +1,88 @@
 package com.example.server_android.exam;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
 
 public interface QuestionRepository extends JpaRepository<Question, Long> {
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "-2147483648"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("""
+      select new com.example.server_android.exam.QuestionDTO(
+          q.id, q.type, q.questionText, q.correctAnswer, q.otherAnswers, q.testId, q.subcategoryId)
+      from Question q
+      order by q.id
+      """)
+    Stream<QuestionDTO> streamAllAsDto();
+
+    @Query("""
+      select new com.example.server_android.exam.QuestionDTO(
+          q.id, q.type, q.questionText, q.correctAnswer, q.otherAnswers, q.testId, q.subcategoryId)
+      from Question q
+      where q.subcategoryId = :subcategoryId
+      order by q.id
+      """)
+    List<QuestionDTO> findDtosBySubcategoryId(Long subcategoryId);
+
+    @Query("""
+      select new com.example.server_android.exam.QuestionDTO(
+          q.id, q.type, q.questionText, q.correctAnswer, q.otherAnswers, q.testId, q.subcategoryId)
+      from Question q
+      where q.subcategoryId = :subcategoryId and q.type = :type
+      order by q.id
+      """)
+    List<QuestionDTO> findDtosBySubcategoryIdAndType(Long subcategoryId, String type);
+
+    @Query("""
+      select new com.example.server_android.exam.QuestionDTO(
+          q.id, q.type, q.questionText, q.correctAnswer, q.otherAnswers, q.testId, q.subcategoryId)
+      from Question q
+      where q.testId = :testId
+      order by q.id
+      """)
+    List<QuestionDTO> findDtosByTestId(Long testId);
+
+    @Query("""
+      select new com.example.server_android.exam.QuestionDTO(
+          q.id, q.type, q.questionText, q.correctAnswer, q.otherAnswers, q.testId, q.subcategoryId)
+      from Question q
+      where q.testId = :testId and q.type = :type
+      order by q.id
+      """)
+    List<QuestionDTO> findDtosByTestIdAndType(Long testId, String type);
+
+    @Query("""
+      select new com.example.server_android.exam.QuestionDTO(
+          q.id, q.type, q.questionText, q.correctAnswer, q.otherAnswers, q.testId, q.subcategoryId)
+      from Question q
+      where q.id in :ids
+      """)
+    List<QuestionDTO> findDtosByIdIn(Collection<Long> ids);
+
+    // Acoperit complet de idx_questions_subcategory_type
+    @Query("select new com.example.server_android.exam.QuestionRef(q.id, q.type) from Question q where q.subcategoryId = :subcategoryId")
+    List<QuestionRef> findRefsBySubcategoryId(Long subcategoryId);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    @Query("select new com.example.server_android.exam.QuestionAnswer(q.id, q.correctAnswer) from Question q order by q.id")
+    List<QuestionAnswer> findAllAnswers();
+
+    long countBySubcategoryId(Long subcategoryId);
+
+    long countBySubcategoryIdAndType(Long subcategoryId, String type);
+
+    long countByTestId(Long testId);
+
+    long countByTestIdAndType(Long testId, String type);
 }
 
-// Restul claselor și interfețelor nu mai sunt necesare
\ No newline at end of file
+// Restul claselor și interfețelor nu mai sunt necesare
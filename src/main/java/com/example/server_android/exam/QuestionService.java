@@ -1,10 +1,16 @@
 package com.example.server_android.exam;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
@@ -12,6 +18,9 @@ public class QuestionService {
 
     private final QuestionRepository questionRepository;
 
+    @Value("${exam.other-answers-separator:;}")
+    private String otherAnswersSeparator;
+
     public Optional<Question> getQuestionById(Long id) {
         return questionRepository.findById(id);
     }
@@ -19,4 +28,80 @@ public class QuestionService {
     public List<Question> getAllQuestions() {
         return questionRepository.findAll();
     }
+
+    @Transactional(readOnly = true)
+    public void forEachQuestion(Consumer<PublicQuestionDTO> action) {
+        try (Stream<QuestionDTO> questions = questionRepository.streamAllAsDto()) {
+            questions.forEach(question -> action.accept(toPublic(question)));
+        }
+    }
+
+    /**
+     * Questions of one subcategory or one test, optionally narrowed to a type.
+     * Exactly one of subcategoryId and testId must be given.
+     */
+    public List<PublicQuestionDTO> findQuestions(Long subcategoryId, Long testId, String type) {
+        boolean byType = type != null && !type.isBlank();
+        List<QuestionDTO> questions;
+        if (scopeOf(subcategoryId, testId) == QuestionScope.SUBCATEGORY) {
+            questions = byType
+                    ? questionRepository.findDtosBySubcategoryIdAndType(subcategoryId, type)
+                    : questionRepository.findDtosBySubcategoryId(subcategoryId);
+        } else {
+            questions = byType
+                    ? questionRepository.findDtosByTestIdAndType(testId, type)
+                    : questionRepository.findDtosByTestId(testId);
+        }
+        List<PublicQuestionDTO> result = new ArrayList<>(questions.size());
+        for (QuestionDTO question : questions) {
+            result.add(toPublic(question));
+        }
+        return result;
+    }
+
+    public PublicQuestionDTO toPublic(QuestionDTO question) {
+        List<String> answers = answersOf(question);
+        answers.sort(null);
+        return new PublicQuestionDTO(question.getId(), question.getType(), question.getQuestionText(), answers,
+                question.getTestId(), question.getSubcategoryId());
+    }
+
+    /** The correct answer first, then the other answers in stored order. */
+    public List<String> answersOf(QuestionDTO question) {
+        List<String> answers = new ArrayList<>();
+        answers.add(question.getCorrectAnswer());
+        String otherAnswers = question.getOtherAnswers();
+        if (otherAnswers != null && !otherAnswers.isBlank()) {
+            for (String answer : otherAnswers.split(Pattern.quote(otherAnswersSeparator))) {
+                if (!answer.isBlank()) {
+                    answers.add(answer.trim());
+                }
+            }
+        }
+        return answers;
+    }
+
+    public long countQuestions(Long subcategoryId, Long testId, String type) {
+        boolean byType = type != null && !type.isBlank();
+        if (scopeOf(subcategoryId, testId) == QuestionScope.SUBCATEGORY) {
+            return byType
+                    ? questionRepository.countBySubcategoryIdAndType(subcategoryId, type)
+                    : questionRepository.countBySubcategoryId(subcategoryId);
+        }
+        return byType
+                ? questionRepository.countByTestIdAndType(testId, type)
+                : questionRepository.countByTestId(testId);
+    }
+
+    private static QuestionScope scopeOf(Long subcategoryId, Long testId) {
+        if ((subcategoryId == null) == (testId == null)) {
+            throw new IllegalArgumentException("Specify either subcategoryId or testId");
+        }
+        return subcategoryId != null ? QuestionScope.SUBCATEGORY : QuestionScope.TEST;
+    }
+
+    private enum QuestionScope {
+        SUBCATEGORY,
+        TEST
+    }
 }
@@ -0,0 +1,11 @@
+package com.example.server_android.exam;
+
+import lombok.*;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class SubmittedAnswer {
+    private Long questionId;
+    private String answer;
+}
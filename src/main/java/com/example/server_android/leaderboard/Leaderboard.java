@@ -0,0 +1,98 @@
+package com.example.server_android.leaderboard;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+/**
+ * One board. Entries sit in a concurrent skip list ordered by score, so top-K reads need no lock;
+ * an order-statistic count of scores answers "rank of user X" in O(log n). Updates and rank queries hold
+ * the board's monitor. Ranks are competition ranks: tied users share a rank.
+ */
+public class Leaderboard {
+
+    private static final Comparator<LeaderboardEntry> BY_SCORE = Comparator
+            .comparingLong(LeaderboardEntry::getScore).reversed()
+            .thenComparingInt(LeaderboardEntry::getUserId);
+
+    private final ConcurrentSkipListSet<LeaderboardEntry> ranking = new ConcurrentSkipListSet<>(BY_SCORE);
+    private final Map<Integer, LeaderboardEntry> byUser = new HashMap<>();
+    private final ScoreCounts counts = new ScoreCounts();
+    // Utilizatori schimbati de la ultimul snapshot
+    private final Set<Integer> dirty = new HashSet<>();
+
+    public synchronized long add(int userId, long delta) {
+        LeaderboardEntry previous = byUser.get(userId);
+        long score = (previous != null ? previous.getScore() : 0) + delta;
+        replace(previous, new LeaderboardEntry(userId, score));
+        dirty.add(userId);
+        return score;
+    }
+
+    /** Sets a score loaded from a snapshot; not marked for the next snapshot. */
+    synchronized void restore(int userId, long score) {
+        replace(byUser.get(userId), new LeaderboardEntry(userId, score));
+    }
+
+    private void replace(LeaderboardEntry previous, LeaderboardEntry next) {
+        if (previous != null) {
+            ranking.remove(previous);
+            counts.add(previous.getScore(), -1);
+        }
+        ranking.add(next);
+        counts.add(next.getScore(), 1);
+        byUser.put(next.getUserId(), next);
+    }
+
+    public List<RankedEntry> top(int limit) {
+        List<RankedEntry> top = new ArrayList<>(limit);
+        long rank = 0;
+        long previousScore = Long.MIN_VALUE;
+        int position = 0;
+        for (LeaderboardEntry entry : ranking) {
+            if (position == limit) {
+                break;
+            }
+            position++;
+            if (entry.getScore() != previousScore) {
+                rank = position;
+                previousScore = entry.getScore();
+            }
+            top.add(new RankedEntry(rank, entry.getUserId(), entry.getScore()));
+        }
+        return top;
+    }
+
+    /** Rank of the user, or null if the user has no score on this board. */
+    public synchronized RankedEntry rankOf(int userId) {
+        LeaderboardEntry entry = byUser.get(userId);
+        if (entry == null) {
+            return null;
+        }
+        return new RankedEntry(counts.countAbove(entry.getScore()) + 1, userId, entry.getScore());
+    }
+
+    public synchronized int size() {
+        return byUser.size();
+    }
+
+    synchronized boolean isDirty() {
+        return !dirty.isEmpty();
+    }
+
+    synchronized List<LeaderboardEntry> dirtyEntries() {
+        List<LeaderboardEntry> entries = new ArrayList<>(dirty.size());
+        for (Integer userId : dirty) {
+            entries.add(byUser.get(userId));
+        }
+        return entries;
+    }
+
+    /** Marks snapshotted entries clean, unless the score moved on since. */
+    synchronized void markSnapshotted(List<LeaderboardEntry> entries) {
+        for (LeaderboardEntry entry : entries) {
+            if (byUser.get(entry.getUserId()) == entry) {
+                dirty.remove(entry.getUserId());
+            }
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.example.server_android.leaderboard;
+
+import com.example.server_android.exam.Question;
+import com.example.server_android.user.User;
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * A question that already counted towards a user's boards in a period, so answering it again scores
+ * nothing. Written by {@link LeaderboardService} over JDBC. The question carries no foreign key, like
+ * the progress history it is claimed from.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Entity
+@Table(name = "leaderboard_answers",
+        uniqueConstraints = @UniqueConstraint(name = "uk_leaderboard_answers_period_user_question",
+                columnNames = {"period", "user_id", "question_id"}))
+public class LeaderboardAnswer {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "period", nullable = false, length = 16)
+    private String period;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "user_id", nullable = false)
+    private User user;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "question_id", nullable = false, foreignKey = @ForeignKey(ConstraintMode.NO_CONSTRAINT))
+    private Question question;
+}
@@ -0,0 +1,81 @@
+package com.example.server_android.leaderboard;
+
+import com.example.server_android.auth.ApiResponse;
+import com.example.server_android.user.User;
+import com.example.server_android.user.UserRepository;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.*;
+
+@RestController
+@RequestMapping("/api/v1/leaderboard")
+@RequiredArgsConstructor
+public class LeaderboardController {
+
+    private static final Logger logger = LoggerFactory.getLogger(LeaderboardController.class);
+    private final LeaderboardService leaderboardService;
+    private final UserRepository userRepository;
+
+    @Value("${leaderboard.top.max-limit:100}")
+    private int maxLimit;
+
+    @GetMapping("/{categoryId}")
+    public ResponseEntity<ApiResponse> getTop(@PathVariable Long categoryId,
+                                              @RequestParam(value = "period", defaultValue = "weekly") String period,
+                                              @RequestParam(value = "limit", defaultValue = "10") int limit) {
+        try {
+            LeaderboardPeriod leaderboardPeriod = LeaderboardPeriod.fromId(period);
+            List<RankedEntry> top = leaderboardService.top(categoryId, leaderboardPeriod, Math.max(1, Math.min(limit, maxLimit)));
+            Map<Integer, User> users = new HashMap<>();
+            if (!top.isEmpty()) {
+                userRepository.findAllById(top.stream().map(RankedEntry::getUserId).toList())
+                        .forEach(user -> users.put(user.getId(), user));
+            }
+            List<Map<String, Object>> result = new ArrayList<>(top.size());
+            for (RankedEntry entry : top) {
+                User user = users.get(entry.getUserId());
+                Map<String, Object> row = new LinkedHashMap<>();
+                row.put("rank", entry.getRank());
+                row.put("userId", entry.getUserId());
+                row.put("name", user != null ? user.getFirst_name() + " " + user.getLast_name() : null);
+                row.put("score", entry.getScore());
+                result.add(row);
+            }
+            return ResponseEntity.ok(new ApiResponse(true, "Leaderboard fetched successfully", Map.of(
+                    "period", leaderboardPeriod.getId(),
+                    "players", leaderboardService.size(categoryId, leaderboardPeriod),
+                    "entries", result)));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(new ApiResponse(false, e.getMessage()));
+        } catch (Exception e) {
+            logger.error("Error fetching leaderboard: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(new ApiResponse(false, "Error fetching leaderboard"));
+        }
+    }
+
+    @GetMapping("/{categoryId}/me")
+    public ResponseEntity<ApiResponse> getMyRank(@AuthenticationPrincipal User user,
+                                                 @PathVariable Long categoryId,
+                                                 @RequestParam(value = "period", defaultValue = "weekly") String period) {
+        try {
+            LeaderboardPeriod leaderboardPeriod = LeaderboardPeriod.fromId(period);
+            RankedEntry entry = leaderboardService.rankOf(categoryId, leaderboardPeriod, user.getId());
+            if (entry == null) {
+                return ResponseEntity.status(HttpStatus.NOT_FOUND).body(new ApiResponse(false, "No score on this leaderboard yet"));
+            }
+            return ResponseEntity.ok(new ApiResponse(true, "Rank fetched successfully", entry));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(new ApiResponse(false, e.getMessage()));
+        } catch (Exception e) {
+            logger.error("Error fetching rank: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(new ApiResponse(false, "Error fetching rank"));
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package com.example.server_android.leaderboard;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class LeaderboardEntry {
+    private final int userId;
+    private final long score;
+}
@@ -0,0 +1,25 @@
+package com.example.server_android.leaderboard;
+
+public enum LeaderboardPeriod {
+    WEEKLY("weekly"),
+    ALL_TIME("all-time");
+
+    private final String id;
+
+    LeaderboardPeriod(String id) {
+        this.id = id;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public static LeaderboardPeriod fromId(String id) {
+        for (LeaderboardPeriod period : values()) {
+            if (period.id.equalsIgnoreCase(id)) {
+                return period;
+            }
+        }
+        throw new IllegalArgumentException("Unknown leaderboard period: " + id);
+    }
+}
@@ -0,0 +1,44 @@
+package com.example.server_android.leaderboard;
+
+import com.example.server_android.Category;
+import com.example.server_android.user.User;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.Instant;
+
+/**
+ * Snapshot row of one user's score on one board. {@code period} is "all" for all-time boards and the
+ * ISO week (e.g. 2024-W18) for weekly ones; past weeks stay as history.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Entity
+@Table(name = "leaderboard_scores",
+        uniqueConstraints = @UniqueConstraint(name = "uk_leaderboard_period_category_user",
+                columnNames = {"period", "category_id", "user_id"}))
+public class LeaderboardScore {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "period", nullable = false, length = 16)
+    private String period;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "category_id", nullable = false)
+    private Category category;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "user_id", nullable = false)
+    private User user;
+
+    @Column(name = "score", nullable = false)
+    private long score;
+
+    @Column(name = "updated_at", nullable = false)
+    private Instant updatedAt;
+}
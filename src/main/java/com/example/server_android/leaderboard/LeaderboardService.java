@@ -0,0 +1,306 @@
+package com.example.server_android.leaderboard;
+
+import com.example.server_android.metrics.MetricsSource;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.temporal.IsoFields;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Weekly and all-time boards of correct answers per category, kept in memory. A question scores once per
+ * user and period; leaderboard_answers records which ones already did. Scores are snapshotted to
+ * leaderboard_scores on a schedule and reloaded from there at startup. When the week turns the weekly boards
+ * are replaced with empty ones; the previous week's boards are kept aside and snapshotted until every answer
+ * still being committed to them has landed and been written.
+ */
+@Service
+public class LeaderboardService implements MetricsSource {
+
+    private static final Logger logger = LoggerFactory.getLogger(LeaderboardService.class);
+
+    static final String ALL_TIME_PERIOD = "all";
+    private static final String SELECT_PERIOD = "select category_id, user_id, score from leaderboard_scores where period = ?";
+    private static final String UPSERT_SCORE = "insert into leaderboard_scores (period, category_id, user_id, score, updated_at) " +
+            "values (?, ?, ?, ?, ?) on duplicate key update score = values(score), updated_at = values(updated_at)";
+    private static final String SELECT_COUNTED = "select user_id, question_id from leaderboard_answers " +
+            "where period = ? and (user_id, question_id) in (";
+    private static final String INSERT_ANSWER = "insert ignore into leaderboard_answers (period, user_id, question_id) values (?, ?, ?)";
+    private static final int CLAIM_CHUNK_SIZE = 500;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final QuestionCategories questionCategories;
+    private final ZoneId zone;
+
+    private final ConcurrentMap<Long, Leaderboard> allTime = new ConcurrentHashMap<>();
+    private volatile WeeklyBoards weekly;
+    private final List<WeeklyBoards> retiring = new CopyOnWriteArrayList<>();
+
+    private final LongAdder answersCounted = new LongAdder();
+    private final LongAdder snapshotRows = new LongAdder();
+    private final LongAdder snapshotFailures = new LongAdder();
+
+    public LeaderboardService(JdbcTemplate jdbcTemplate,
+                              QuestionCategories questionCategories,
+                              @Value("${leaderboard.zone:Europe/Bucharest}") String zone) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.questionCategories = questionCategories;
+        this.zone = ZoneId.of(zone);
+        this.weekly = new WeeklyBoards(currentWeek());
+    }
+
+    /**
+     * Counts correctly answered questions towards the users' category boards, each question at most once per
+     * user and period. The claims are written to leaderboard_answers in the caller's transaction, if there is
+     * one, and the boards only change once it commits.
+     * <p>
+     * Weekly credit goes to the week in which the server records the answer, not the one of its answeredAt:
+     * that timestamp comes from the client, and the boards of a past week are final once they are retired.
+     */
+    public void recordCorrectAnswers(Map<Integer, Set<Long>> questionIdsByUser) {
+        if (questionIdsByUser.isEmpty()) {
+            return;
+        }
+        WeeklyBoards week = weekly;
+        week.pending.incrementAndGet();
+        boolean deferred = false;
+        try {
+            Map<Integer, List<Long>> allTimeClaims = claim(ALL_TIME_PERIOD, questionIdsByUser);
+            Map<Integer, List<Long>> weeklyClaims = claim(week.period, questionIdsByUser);
+            Runnable apply = () -> {
+                count(allTime, allTimeClaims);
+                count(week.boards, weeklyClaims);
+            };
+            if (TransactionSynchronizationManager.isSynchronizationActive()) {
+                TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                    @Override
+                    public void afterCompletion(int status) {
+                        try {
+                            if (status == STATUS_COMMITTED) {
+                                apply.run();
+                            }
+                        } finally {
+                            week.pending.decrementAndGet();
+                        }
+                    }
+                });
+                deferred = true;
+            } else {
+                apply.run();
+            }
+        } finally {
+            if (!deferred) {
+                week.pending.decrementAndGet();
+            }
+        }
+    }
+
+    /** Claims the questions not yet counted in the period and returns them per user. */
+    private Map<Integer, List<Long>> claim(String period, Map<Integer, Set<Long>> questionIdsByUser) {
+        List<Object[]> pairs = new ArrayList<>();
+        questionIdsByUser.forEach((userId, questionIds) -> questionIds.forEach(questionId ->
+                pairs.add(new Object[]{userId, questionId})));
+        Map<Integer, Set<Long>> counted = new HashMap<>();
+        for (int from = 0; from < pairs.size(); from += CLAIM_CHUNK_SIZE) {
+            List<Object[]> chunk = pairs.subList(from, Math.min(pairs.size(), from + CLAIM_CHUNK_SIZE));
+            List<Object> args = new ArrayList<>(chunk.size() * 2 + 1);
+            args.add(period);
+            for (Object[] pair : chunk) {
+                args.add(pair[0]);
+                args.add(pair[1]);
+            }
+            String placeholders = String.join(", ", Collections.nCopies(chunk.size(), "(?, ?)"));
+            jdbcTemplate.query(SELECT_COUNTED + placeholders + ")", rs -> {
+                counted.computeIfAbsent(rs.getInt(1), id -> new HashSet<>()).add(rs.getLong(2));
+            }, args.toArray());
+        }
+
+        Map<Integer, List<Long>> claims = new HashMap<>();
+        List<Object[]> rows = new ArrayList<>();
+        questionIdsByUser.forEach((userId, questionIds) -> {
+            Set<Long> already = counted.getOrDefault(userId, Set.of());
+            for (Long questionId : questionIds) {
+                if (!already.contains(questionId)) {
+                    claims.computeIfAbsent(userId, id -> new ArrayList<>()).add(questionId);
+                    rows.add(new Object[]{period, userId, questionId});
+                }
+            }
+        });
+        if (!rows.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_ANSWER, rows);
+        }
+        return claims;
+    }
+
+    private void count(Map<Long, Leaderboard> boards, Map<Integer, List<Long>> claims) {
+        claims.forEach((userId, questionIds) -> {
+            Map<Long, Integer> perCategory = new HashMap<>();
+            for (Long questionId : questionIds) {
+                long categoryId = questionCategories.categoryOf(questionId);
+                if (categoryId >= 0) {
+                    perCategory.merge(categoryId, 1, Integer::sum);
+                }
+            }
+            perCategory.forEach((categoryId, answers) -> {
+                boards.computeIfAbsent(categoryId, id -> new Leaderboard()).add(userId, answers);
+                answersCounted.add(answers);
+            });
+        });
+    }
+
+    public List<RankedEntry> top(long categoryId, LeaderboardPeriod period, int limit) {
+        Leaderboard board = boards(period).get(categoryId);
+        return board != null ? board.top(limit) : List.of();
+    }
+
+    /** Rank of the user, or null if the user has no score on the board. */
+    public RankedEntry rankOf(long categoryId, LeaderboardPeriod period, int userId) {
+        Leaderboard board = boards(period).get(categoryId);
+        return board != null ? board.rankOf(userId) : null;
+    }
+
+    public int size(long categoryId, LeaderboardPeriod period) {
+        Leaderboard board = boards(period).get(categoryId);
+        return board != null ? board.size() : 0;
+    }
+
+    private Map<Long, Leaderboard> boards(LeaderboardPeriod period) {
+        return period == LeaderboardPeriod.ALL_TIME ? allTime : weekly.boards;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        int allTimeRows = load(ALL_TIME_PERIOD, allTime);
+        WeeklyBoards week = weekly;
+        int weeklyRows = load(week.period, week.boards);
+        logger.info("Leaderboards rebuilt from {} all-time and {} weekly ({}) snapshot rows", allTimeRows, weeklyRows, week.period);
+    }
+
+    private int load(String period, Map<Long, Leaderboard> boards) {
+        int[] rows = {0};
+        jdbcTemplate.query(SELECT_PERIOD, rs -> {
+            boards.computeIfAbsent(rs.getLong(1), id -> new Leaderboard()).restore(rs.getInt(2), rs.getLong(3));
+            rows[0]++;
+        }, period);
+        return rows[0];
+    }
+
+    @Scheduled(fixedDelayString = "${leaderboard.snapshot.interval-ms:60000}")
+    public void snapshot() {
+        snapshot(ALL_TIME_PERIOD, allTime);
+        WeeklyBoards week = weekly;
+        snapshot(week.period, week.boards);
+        for (WeeklyBoards previous : retiring) {
+            // Verificam pending inainte de snapshot: ce se aplica dupa citire ramane murdar si asteapta runda urmatoare
+            boolean settled = previous.pending.get() == 0;
+            snapshot(previous.period, previous.boards);
+            if (settled && previous.isClean()) {
+                retiring.remove(previous);
+                logger.info("Weekly leaderboards of {} retired", previous.period);
+            }
+        }
+    }
+
+    private void snapshot(String period, Map<Long, Leaderboard> boards) {
+        boards.forEach((categoryId, board) -> {
+            List<LeaderboardEntry> entries = board.dirtyEntries();
+            if (entries.isEmpty()) {
+                return;
+            }
+            Timestamp now = Timestamp.from(Instant.now());
+            List<Object[]> rows = new ArrayList<>(entries.size());
+            for (LeaderboardEntry entry : entries) {
+                rows.add(new Object[]{period, categoryId, entry.getUserId(), entry.getScore(), now});
+            }
+            try {
+                jdbcTemplate.batchUpdate(UPSERT_SCORE, rows);
+                board.markSnapshotted(entries);
+                snapshotRows.add(rows.size());
+            } catch (RuntimeException e) {
+                // Raman murdare; urmatorul snapshot le reia
+                snapshotFailures.increment();
+                logger.warn("Snapshot of {} board for category {} failed: {}", period, categoryId, e.getMessage());
+            }
+        });
+    }
+
+    @Scheduled(cron = "${leaderboard.weekly.rotation-cron:0 0 0 * * MON}", zone = "${leaderboard.zone:Europe/Bucharest}")
+    public void rotateWeekly() {
+        String period = currentWeek();
+        WeeklyBoards previous = weekly;
+        if (previous.period.equals(period)) {
+            return;
+        }
+        retiring.add(previous);
+        weekly = new WeeklyBoards(period);
+        // Tranzactiile inca deschise pe saptamana veche se aplica mai tarziu; snapshot-urile urmatoare le prind
+        snapshot(previous.period, previous.boards);
+        logger.info("Weekly leaderboards rotated from {} to {}", previous.period, period);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        snapshot();
+    }
+
+    private String currentWeek() {
+        LocalDate today = LocalDate.now(zone);
+        return String.format("%d-W%02d", today.get(IsoFields.WEEK_BASED_YEAR), today.get(IsoFields.WEEK_OF_WEEK_BASED_YEAR));
+    }
+
+    @Override
+    public String metricsName() {
+        return "leaderboards";
+    }
+
+    @Override
+    public Object metricsSnapshot() {
+        Map<String, Object> snapshot = new LinkedHashMap<>();
+        snapshot.put("week", weekly.period);
+        snapshot.put("allTimeBoards", allTime.size());
+        snapshot.put("weeklyBoards", weekly.boards.size());
+        snapshot.put("retiringWeeks", retiring.size());
+        snapshot.put("answersCounted", answersCounted.sum());
+        snapshot.put("snapshotRows", snapshotRows.sum());
+        snapshot.put("snapshotFailures", snapshotFailures.sum());
+        return snapshot;
+    }
+
+    private static class WeeklyBoards {
+        private final String period;
+        private final ConcurrentMap<Long, Leaderboard> boards = new ConcurrentHashMap<>();
+        // Inregistrari cu tranzactia inca deschisa
+        private final AtomicInteger pending = new AtomicInteger();
+
+        WeeklyBoards(String period) {
+            this.period = period;
+        }
+
+        boolean isClean() {
+            for (Leaderboard board : boards.values()) {
+                if (board.isDirty()) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
@@ -0,0 +1,145 @@
+package com.example.server_android.leaderboard;
+
+import com.example.server_android.catalog.Catalog;
+import com.example.server_android.catalog.CatalogChangedEvent;
+import com.example.server_android.metrics.LatencyHistogram;
+import com.example.server_android.metrics.MetricsSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Category of every question, through its subcategory, as sorted parallel long arrays. The index is
+ * reloaded in the background after questions or subcategories change, or once it is older than the TTL,
+ * and lookups keep using the previous one meanwhile; only a lookup before the very first load waits for it.
+ */
+@Component
+public class QuestionCategories implements MetricsSource {
+
+    private static final Logger logger = LoggerFactory.getLogger(QuestionCategories.class);
+
+    private static final String SELECT_QUESTION_CATEGORIES = "select q.id, s.category_id from questions q " +
+            "join subcategories s on s.id = q.subcategory_id where s.category_id is not null order by q.id";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final long ttlMillis;
+
+    private volatile Index current;
+    private final AtomicBoolean stale = new AtomicBoolean();
+    private final LongAdder reloads = new LongAdder();
+    private final LongAdder reloadFailures = new LongAdder();
+    private final LatencyHistogram reloadTimes = new LatencyHistogram();
+
+    public QuestionCategories(JdbcTemplate jdbcTemplate,
+                              @Value("${leaderboard.question-categories.ttl-seconds:3600}") long ttlSeconds) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.ttlMillis = ttlSeconds * 1000;
+    }
+
+    /** Category of the question, or -1 if the question or its subcategory is unknown. */
+    public long categoryOf(long questionId) {
+        Index index = current;
+        if (index == null) {
+            index = loadFirst();
+        }
+        int position = Arrays.binarySearch(index.questionIds, 0, index.size, questionId);
+        return position >= 0 ? index.categoryIds[position] : -1;
+    }
+
+    private synchronized Index loadFirst() {
+        if (current == null) {
+            reload();
+        }
+        return current;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        try {
+            loadFirst();
+        } catch (RuntimeException e) {
+            reloadFailures.increment();
+            logger.warn("Loading question categories failed, the first lookup retries: {}", e.getMessage());
+        }
+    }
+
+    @EventListener
+    public void onCatalogChanged(CatalogChangedEvent event) {
+        if (event.getCatalog() == Catalog.QUESTIONS || event.getCatalog() == Catalog.SUBCATEGORIES) {
+            stale.set(true);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${leaderboard.question-categories.refresh-interval-ms:1000}")
+    public void refreshIfStale() {
+        Index index = current;
+        boolean expired = index != null && System.currentTimeMillis() - index.loadedAtMillis > ttlMillis;
+        // Flag-ul se sterge inainte de citire, ca o schimbare facuta in timpul ei sa ceara inca o reincarcare
+        if (index != null && (stale.getAndSet(false) || expired)) {
+            try {
+                synchronized (this) {
+                    reload();
+                }
+            } catch (RuntimeException e) {
+                stale.set(true);
+                reloadFailures.increment();
+                logger.warn("Reloading question categories failed, keeping the previous index: {}", e.getMessage());
+            }
+        }
+    }
+
+    private void reload() {
+        long start = System.nanoTime();
+        Index loaded = new Index();
+        jdbcTemplate.query(SELECT_QUESTION_CATEGORIES, rs -> {
+            loaded.add(rs.getLong(1), rs.getLong(2));
+        });
+        current = loaded;
+        reloads.increment();
+        reloadTimes.record(System.nanoTime() - start);
+    }
+
+    @Override
+    public String metricsName() {
+        return "questionCategories";
+    }
+
+    @Override
+    public Object metricsSnapshot() {
+        Index index = current;
+        Map<String, Object> snapshot = new LinkedHashMap<>();
+        snapshot.put("questions", index != null ? index.size : 0);
+        snapshot.put("reloads", reloads.sum());
+        snapshot.put("reloadFailures", reloadFailures.sum());
+        snapshot.put("reloadTimes", reloadTimes.snapshot());
+        return snapshot;
+    }
+
+    private static class Index {
+        private final long loadedAtMillis = System.currentTimeMillis();
+        private long[] questionIds = new long[1024];
+        private long[] categoryIds = new long[1024];
+        private int size;
+
+        void add(long questionId, long categoryId) {
+            if (size == questionIds.length) {
+                questionIds = Arrays.copyOf(questionIds, size * 2);
+                categoryIds = Arrays.copyOf(categoryIds, size * 2);
+            }
+            questionIds[size] = questionId;
+            categoryIds[size] = categoryId;
+            size++;
+        }
+    }
+}
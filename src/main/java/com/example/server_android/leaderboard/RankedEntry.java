@@ -0,0 +1,12 @@
+package com.example.server_android.leaderboard;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class RankedEntry {
+    private final long rank;
+    private final int userId;
+    private final long score;
+}
@@ -0,0 +1,122 @@
+package com.example.server_android.leaderboard;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Number of users per distinct score, in a treap whose nodes also hold the user count of their subtree,
+ * so "how many users score above s" is O(log d) for d distinct scores, whatever the score values are.
+ * A score nobody holds any more is removed. Not thread-safe.
+ */
+class ScoreCounts {
+
+    private static final class Node {
+        private final long score;
+        private final int priority;
+        private long count;
+        private long subtree;
+        private Node left;
+        private Node right;
+
+        private Node(long score, long count) {
+            this.score = score;
+            this.priority = ThreadLocalRandom.current().nextInt();
+            this.count = count;
+            this.subtree = count;
+        }
+    }
+
+    private Node root;
+    private int distinct;
+
+    void add(long score, long delta) {
+        root = add(root, score, delta);
+    }
+
+    long countAbove(long score) {
+        long count = 0;
+        Node node = root;
+        while (node != null) {
+            if (score < node.score) {
+                count += node.count + subtree(node.right);
+                node = node.left;
+            } else if (score > node.score) {
+                node = node.right;
+            } else {
+                return count + subtree(node.right);
+            }
+        }
+        return count;
+    }
+
+    int distinctScores() {
+        return distinct;
+    }
+
+    private Node add(Node node, long score, long delta) {
+        if (node == null) {
+            distinct++;
+            return new Node(score, delta);
+        }
+        if (score == node.score) {
+            node.count += delta;
+            if (node.count == 0) {
+                distinct--;
+                return merge(node.left, node.right);
+            }
+        } else if (score < node.score) {
+            node.left = add(node.left, score, delta);
+            if (node.left != null && node.left.priority > node.priority) {
+                node = rotateRight(node);
+            }
+        } else {
+            node.right = add(node.right, score, delta);
+            if (node.right != null && node.right.priority > node.priority) {
+                node = rotateLeft(node);
+            }
+        }
+        update(node);
+        return node;
+    }
+
+    /** Joins two treaps where every score of {@code low} is below every score of {@code high}. */
+    private static Node merge(Node low, Node high) {
+        if (low == null) {
+            return high;
+        }
+        if (high == null) {
+            return low;
+        }
+        if (low.priority > high.priority) {
+            low.right = merge(low.right, high);
+            update(low);
+            return low;
+        }
+        high.left = merge(low, high.left);
+        update(high);
+        return high;
+    }
+
+    private static Node rotateRight(Node node) {
+        Node left = node.left;
+        node.left = left.right;
+        update(node);
+        left.right = node;
+        return left;
+    }
+
+    private static Node rotateLeft(Node node) {
+        Node right = node.right;
+        node.right = right.left;
+        update(node);
+        right.left = node;
+        return right;
+    }
+
+    private static void update(Node node) {
+        node.subtree = node.count + subtree(node.left) + subtree(node.right);
+    }
+
+    private static long subtree(Node node) {
+        return node == null ? 0 : node.subtree;
+    }
+}
@@ -0,0 +1,207 @@
+package com.example.server_android.mail;
+
+import com.example.server_android.metrics.LatencyHistogram;
+import com.example.server_android.metrics.MetricsSource;
+import jakarta.mail.MessagingException;
+import jakarta.mail.internet.MimeMessage;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.javamail.MimeMessageHelper;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Delivers pending {@link OutboxMail} rows in batches. Each batch goes through a single
+ * {@link JavaMailSender#send(MimeMessage...)} call, which reuses one SMTP connection for the whole batch.
+ * Failed mails are retried with exponential backoff and marked {@link OutboxMailStatus#DEAD}
+ * after {@code mail.outbox.max-attempts}.
+ * <p>
+ * A batch is claimed with one conditional update before anything is sent, so two nodes or two overlapping
+ * runs never send the same mail. A claim is a lease of {@code mail.outbox.lease-seconds}: mails left claimed
+ * by a node that died are picked up again once it runs out.
+ */
+@Component
+public class MailOutboxDispatcher implements MetricsSource {
+
+    private static final Logger logger = LoggerFactory.getLogger(MailOutboxDispatcher.class);
+
+    private final OutboxMailRepository outboxMailRepository;
+    private final JavaMailSender javaMailSender;
+    private final String from;
+    private final int batchSize;
+    private final int maxAttempts;
+    private final Duration initialBackoff;
+    private final Duration maxBackoff;
+    private final Duration lease;
+
+    private final LongAdder sent = new LongAdder();
+    private final LongAdder failedAttempts = new LongAdder();
+    private final LongAdder deadLettered = new LongAdder();
+    private final LongAdder lostClaims = new LongAdder();
+    private final LatencyHistogram batchTimes = new LatencyHistogram();
+
+    public MailOutboxDispatcher(OutboxMailRepository outboxMailRepository,
+                                JavaMailSender javaMailSender,
+                                @Value("${mail.outbox.from:${spring.mail.username}}") String from,
+                                @Value("${mail.outbox.batch-size:50}") int batchSize,
+                                @Value("${mail.outbox.max-attempts:8}") int maxAttempts,
+                                @Value("${mail.outbox.initial-backoff-seconds:30}") long initialBackoffSeconds,
+                                @Value("${mail.outbox.max-backoff-seconds:3600}") long maxBackoffSeconds,
+                                @Value("${mail.outbox.lease-seconds:300}") long leaseSeconds) {
+        this.outboxMailRepository = outboxMailRepository;
+        this.javaMailSender = javaMailSender;
+        this.from = from;
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+        this.initialBackoff = Duration.ofSeconds(initialBackoffSeconds);
+        this.maxBackoff = Duration.ofSeconds(maxBackoffSeconds);
+        this.lease = Duration.ofSeconds(leaseSeconds);
+    }
+
+    @Scheduled(fixedDelayString = "${mail.outbox.poll-interval-ms:2000}")
+    public void dispatchPending() {
+        while (true) {
+            String claim = UUID.randomUUID().toString();
+            Instant now = Instant.now();
+            int claimed = outboxMailRepository.claimDue(claim, now, now.plus(lease), batchSize);
+            if (claimed == 0) {
+                return;
+            }
+            List<OutboxMail> batch = outboxMailRepository.findClaimed(claim, OutboxMailStatus.SENDING);
+            long start = System.nanoTime();
+            int delivered = deliver(batch);
+            for (OutboxMail mail : batch) {
+                complete(claim, mail);
+            }
+            batchTimes.record(System.nanoTime() - start);
+            // A batch that failed entirely usually means the SMTP server is down; wait for the next poll
+            if (claimed < batchSize || delivered == 0) {
+                return;
+            }
+        }
+    }
+
+    private void complete(String claim, OutboxMail mail) {
+        int updated = outboxMailRepository.complete(mail.getId(), claim, mail.getStatus(), mail.getAttempts(),
+                mail.getNextAttemptAt(), mail.getLastError(), mail.getSentAt());
+        if (updated == 0) {
+            // Lease-ul a expirat in timpul trimiterii si alt dispatcher a revendicat mailul
+            lostClaims.increment();
+            logger.warn("Claim on mail {} expired before its outcome was recorded", mail.getId());
+        }
+    }
+
+    @Override
+    public String metricsName() {
+        return "mailOutbox";
+    }
+
+    @Override
+    public Object metricsSnapshot() {
+        Map<String, Object> snapshot = new LinkedHashMap<>();
+        snapshot.put("sent", sent.sum());
+        snapshot.put("failedAttempts", failedAttempts.sum());
+        snapshot.put("deadLettered", deadLettered.sum());
+        snapshot.put("lostClaims", lostClaims.sum());
+        snapshot.put("batchTimes", batchTimes.snapshot());
+        return snapshot;
+    }
+
+    private int deliver(List<OutboxMail> batch) {
+        Map<MimeMessage, OutboxMail> messages = new IdentityHashMap<>();
+        for (OutboxMail mail : batch) {
+            try {
+                messages.put(toMimeMessage(mail), mail);
+            } catch (MessagingException e) {
+                markFailed(mail, e);
+            }
+        }
+        if (messages.isEmpty()) {
+            return 0;
+        }
+
+        Map<Object, Exception> failures = Map.of();
+        try {
+            javaMailSender.send(messages.keySet().toArray(new MimeMessage[0]));
+        } catch (MailSendException e) {
+            failures = e.getFailedMessages().isEmpty() ? allFailed(messages, e) : e.getFailedMessages();
+        } catch (MailException e) {
+            failures = allFailed(messages, e);
+        }
+
+        Instant now = Instant.now();
+        int delivered = 0;
+        for (Map.Entry<MimeMessage, OutboxMail> entry : messages.entrySet()) {
+            Exception failure = failures.get(entry.getKey());
+            if (failure == null) {
+                markSent(entry.getValue(), now);
+                delivered++;
+            } else {
+                markFailed(entry.getValue(), failure);
+            }
+        }
+        return delivered;
+    }
+
+    private MimeMessage toMimeMessage(OutboxMail mail) throws MessagingException {
+        MimeMessage mimeMessage = javaMailSender.createMimeMessage();
+        MimeMessageHelper helper = new MimeMessageHelper(mimeMessage, "utf-8");
+        helper.setText(mail.getBody(), true);
+        helper.setTo(mail.getRecipient());
+        helper.setSubject(mail.getSubject());
+        helper.setFrom(from);
+        return mimeMessage;
+    }
+
+    private void markSent(OutboxMail mail, Instant now) {
+        mail.setStatus(OutboxMailStatus.SENT);
+        mail.setSentAt(now);
+        mail.setAttempts(mail.getAttempts() + 1);
+        mail.setLastError(null);
+        sent.increment();
+    }
+
+    private void markFailed(OutboxMail mail, Exception e) {
+        int attempts = mail.getAttempts() + 1;
+        mail.setAttempts(attempts);
+        mail.setLastError(truncate(String.valueOf(e.getMessage())));
+        failedAttempts.increment();
+        if (attempts >= maxAttempts) {
+            mail.setStatus(OutboxMailStatus.DEAD);
+            deadLettered.increment();
+            logger.error("Giving up on mail {} to {} after {} attempts: {}", mail.getId(), mail.getRecipient(), attempts, e.getMessage());
+            return;
+        }
+        mail.setStatus(OutboxMailStatus.PENDING);
+        mail.setNextAttemptAt(Instant.now().plus(backoff(attempts)));
+        logger.warn("Mail {} to {} failed (attempt {}), retrying later: {}", mail.getId(), mail.getRecipient(), attempts, e.getMessage());
+    }
+
+    private Duration backoff(int attempts) {
+        Duration delay = initialBackoff.multipliedBy(1L << Math.min(attempts - 1, 20));
+        return delay.compareTo(maxBackoff) > 0 ? maxBackoff : delay;
+    }
+
+    private static Map<Object, Exception> allFailed(Map<MimeMessage, OutboxMail> messages, Exception e) {
+        Map<Object, Exception> failures = new IdentityHashMap<>();
+        messages.keySet().forEach(message -> failures.put(message, e));
+        return failures;
+    }
+
+    private static String truncate(String message) {
+        return message.length() > 1000 ? message.substring(0, 1000) : message;
+    }
+}
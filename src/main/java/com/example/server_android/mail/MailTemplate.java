@@ -0,0 +1,93 @@
+package com.example.server_android.mail;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A template split once into its static text and the placeholders between them,
+ * so rendering only appends the pieces into a buffer sized up front.
+ * Placeholders are written as {@code {{name}}} and their values are HTML-escaped.
+ */
+public final class MailTemplate {
+
+    private static final String OPEN = "{{";
+    private static final String CLOSE = "}}";
+
+    private final String subject;
+    private final String[] segments;
+    private final String[] placeholders;
+    private final int staticLength;
+
+    private MailTemplate(String subject, String[] segments, String[] placeholders) {
+        this.subject = subject;
+        this.segments = segments;
+        this.placeholders = placeholders;
+        int length = 0;
+        for (String segment : segments) {
+            length += segment.length();
+        }
+        this.staticLength = length;
+    }
+
+    public static MailTemplate compile(String subject, String source) {
+        List<String> segments = new ArrayList<>();
+        List<String> placeholders = new ArrayList<>();
+        int position = 0;
+        while (true) {
+            int open = source.indexOf(OPEN, position);
+            if (open < 0) {
+                break;
+            }
+            int close = source.indexOf(CLOSE, open + OPEN.length());
+            if (close < 0) {
+                throw new IllegalArgumentException("Unclosed placeholder at offset " + open);
+            }
+            segments.add(source.substring(position, open));
+            placeholders.add(source.substring(open + OPEN.length(), close).trim());
+            position = close + CLOSE.length();
+        }
+        segments.add(source.substring(position));
+        return new MailTemplate(subject, segments.toArray(new String[0]), placeholders.toArray(new String[0]));
+    }
+
+    public String getSubject() {
+        return subject;
+    }
+
+    public String render(Map<String, String> values) {
+        int capacity = staticLength;
+        for (String placeholder : placeholders) {
+            capacity += valueOf(values, placeholder).length() + 16;
+        }
+        StringBuilder out = new StringBuilder(capacity);
+        for (int i = 0; i < placeholders.length; i++) {
+            out.append(segments[i]);
+            appendEscaped(out, valueOf(values, placeholders[i]));
+        }
+        out.append(segments[segments.length - 1]);
+        return out.toString();
+    }
+
+    private static String valueOf(Map<String, String> values, String placeholder) {
+        String value = values.get(placeholder);
+        if (value == null) {
+            throw new IllegalArgumentException("No value for placeholder " + placeholder);
+        }
+        return value;
+    }
+
+    private static void appendEscaped(StringBuilder out, String value) {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '<' -> out.append("&lt;");
+                case '>' -> out.append("&gt;");
+                case '&' -> out.append("&amp;");
+                case '"' -> out.append("&quot;");
+                case '\'' -> out.append("&#39;");
+                default -> out.append(c);
+            }
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.example.server_android.mail;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+
+@Component
+public class MailTemplateEngine {
+
+    public static final String CONFIRMATION = "confirmation";
+
+    private static final String TEMPLATE_PATH = "templates/mail/";
+    private static final List<String> TEMPLATES = List.of(CONFIRMATION);
+    private static final List<String> LANGUAGES = List.of("ro", "en");
+
+    private final Map<String, MailTemplate> templates = new HashMap<>();
+    private final String defaultLanguage;
+
+    public MailTemplateEngine(@Value("${mail.template.default-language:ro}") String defaultLanguage) throws IOException {
+        if (!LANGUAGES.contains(defaultLanguage)) {
+            throw new IllegalArgumentException("Unsupported mail language: " + defaultLanguage);
+        }
+        this.defaultLanguage = defaultLanguage;
+        Properties subjects = new Properties();
+        try (Reader reader = new InputStreamReader(
+                new ClassPathResource(TEMPLATE_PATH + "subjects.properties").getInputStream(), StandardCharsets.UTF_8)) {
+            subjects.load(reader);
+        }
+        for (String name : TEMPLATES) {
+            for (String language : LANGUAGES) {
+                String key = name + "_" + language;
+                try (InputStream body = new ClassPathResource(TEMPLATE_PATH + key + ".html").getInputStream()) {
+                    templates.put(key, MailTemplate.compile(subjects.getProperty(key, ""),
+                            new String(body.readAllBytes(), StandardCharsets.UTF_8)));
+                }
+            }
+        }
+    }
+
+    public MailTemplate get(String name, Locale locale) {
+        String language = locale != null && LANGUAGES.contains(locale.getLanguage()) ? locale.getLanguage() : defaultLanguage;
+        MailTemplate template = templates.get(name + "_" + language);
+        if (template == null) {
+            throw new IllegalArgumentException("Unknown mail template: " + name);
+        }
+        return template;
+    }
+}
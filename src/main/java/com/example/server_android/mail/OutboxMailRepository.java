@@ -0,0 +1,41 @@
+package com.example.server_android.mail;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.List;
+
+public interface OutboxMailRepository extends JpaRepository<OutboxMail, Long> {
+
+    /**
+     * Atomically claims up to {@code limit} due mails for {@code claim}: pending mails whose retry time has come
+     * and mails whose previous claim's lease ran out. The lease end is stored in next_attempt_at.
+     */
+    @Transactional
+    @Modifying
+    @Query(value = """
+      update mail_outbox set status = 'SENDING', claimed_by = :claim, next_attempt_at = :leaseUntil
+      where status in ('PENDING', 'SENDING') and next_attempt_at <= :now
+      order by id
+      limit :limit
+      """, nativeQuery = true)
+    int claimDue(String claim, Instant now, Instant leaseUntil, int limit);
+
+    @Query("select m from OutboxMail m where m.claimedBy = :claim and m.status = :status order by m.id")
+    List<OutboxMail> findClaimed(String claim, OutboxMailStatus status);
+
+    /** Records the outcome of a send, unless the claim was lost to another dispatcher meanwhile. */
+    @Transactional
+    @Modifying
+    @Query("""
+      update OutboxMail m
+      set m.status = :status, m.attempts = :attempts, m.nextAttemptAt = :nextAttemptAt,
+          m.lastError = :lastError, m.sentAt = :sentAt, m.claimedBy = null
+      where m.id = :id and m.claimedBy = :claim
+      """)
+    int complete(Long id, String claim, OutboxMailStatus status, int attempts, Instant nextAttemptAt,
+                 String lastError, Instant sentAt);
+}
@@ -0,0 +1,9 @@
+package com.example.server_android.mail;
+
+public enum OutboxMailStatus {
+    PENDING,
+    // Revendicat de un dispatcher; next_attempt_at tine sfarsitul lease-ului
+    SENDING,
+    SENT,
+    DEAD
+}
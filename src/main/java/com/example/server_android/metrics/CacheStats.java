@@ -0,0 +1,11 @@
+package com.example.server_android.metrics;
+
+import lombok.Value;
+
+@Value
+public class CacheStats {
+    int size;
+    long hits;
+    long misses;
+    long evictions;
+}
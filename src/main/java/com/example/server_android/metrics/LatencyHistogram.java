@@ -0,0 +1,54 @@
+package com.example.server_android.metrics;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+public class LatencyHistogram {
+
+    private static final long[] DEFAULT_BOUNDS_MILLIS = {1, 5, 10, 25, 50, 100, 250, 500, 1000, 2500};
+
+    private final long[] boundsMillis;
+    private final LongAdder[] buckets;
+    private final LongAdder count = new LongAdder();
+    private final LongAdder totalNanos = new LongAdder();
+
+    public LatencyHistogram() {
+        this(DEFAULT_BOUNDS_MILLIS);
+    }
+
+    public LatencyHistogram(long... boundsMillis) {
+        this.boundsMillis = boundsMillis.clone();
+        this.buckets = new LongAdder[boundsMillis.length + 1];
+        for (int i = 0; i < buckets.length; i++) {
+            buckets[i] = new LongAdder();
+        }
+    }
+
+    public void record(long nanos) {
+        long millis = TimeUnit.NANOSECONDS.toMillis(nanos);
+        int bucket = 0;
+        while (bucket < boundsMillis.length && millis > boundsMillis[bucket]) {
+            bucket++;
+        }
+        buckets[bucket].increment();
+        count.increment();
+        totalNanos.add(nanos);
+    }
+
+    public Map<String, Object> snapshot() {
+        Map<String, Long> distribution = new LinkedHashMap<>();
+        for (int i = 0; i < boundsMillis.length; i++) {
+            distribution.put("<=" + boundsMillis[i] + "ms", buckets[i].sum());
+        }
+        distribution.put(">" + boundsMillis[boundsMillis.length - 1] + "ms", buckets[boundsMillis.length].sum());
+
+        long samples = count.sum();
+        Map<String, Object> snapshot = new LinkedHashMap<>();
+        snapshot.put("count", samples);
+        snapshot.put("meanMillis", samples == 0 ? 0.0 : totalNanos.sum() / 1_000_000.0 / samples);
+        snapshot.put("buckets", distribution);
+        return snapshot;
+    }
+}
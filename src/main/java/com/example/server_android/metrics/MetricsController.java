@@ -0,0 +1,27 @@
+package com.example.server_android.metrics;
+
+import com.example.server_android.auth.ApiResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+@RestController
+@RequestMapping("/api/v1/admin/metrics")
+@RequiredArgsConstructor
+public class MetricsController {
+
+    private final List<MetricsSource> metricsSources;
+
+    @GetMapping
+    public ResponseEntity<ApiResponse> getMetrics() {
+        Map<String, Object> snapshot = new TreeMap<>();
+        metricsSources.forEach(source -> snapshot.put(source.metricsName(), source.metricsSnapshot()));
+        return ResponseEntity.ok(new ApiResponse(true, "Metrics fetched successfully", snapshot));
+    }
+}
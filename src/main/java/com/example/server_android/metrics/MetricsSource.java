@@ -0,0 +1,8 @@
+package com.example.server_android.metrics;
+
+public interface MetricsSource {
+
+    String metricsName();
+
+    Object metricsSnapshot();
+}
@@ -0,0 +1,76 @@
+package com.example.server_android.progress;
+
+import com.example.server_android.auth.ApiResponse;
+import com.example.server_android.exam.GradingService;
+import com.example.server_android.user.User;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/v1/progress")
+@RequiredArgsConstructor
+public class ProgressController {
+
+    private static final Logger logger = LoggerFactory.getLogger(ProgressController.class);
+    private final ProgressIngestionService progressIngestionService;
+    private final GradingService gradingService;
+
+    @Value("${progress.submit.max-events:200}")
+    private int maxEvents;
+    @Value("${progress.submit.max-age-days:30}")
+    private long maxAgeDays;
+    @Value("${progress.submit.max-clock-skew-ms:300000}")
+    private long maxClockSkewMillis;
+
+    @PostMapping
+    public ResponseEntity<ApiResponse> submitProgress(@AuthenticationPrincipal User user,
+                                                      @RequestBody @Validated SubmitProgressRequest request) {
+        List<ProgressEventRequest> events = request.getEvents();
+        if (events.size() > maxEvents) {
+            return ResponseEntity.badRequest().body(new ApiResponse(false, "At most " + maxEvents + " events can be submitted at once"));
+        }
+        Instant now = Instant.now();
+        Instant oldest = now.minus(Duration.ofDays(maxAgeDays));
+        Instant newest = now.plusMillis(maxClockSkewMillis);
+        List<ProgressRecord> records = new ArrayList<>(events.size());
+        for (ProgressEventRequest event : events) {
+            if ((event.getQuestionId() == null) == (event.getWordId() == null) || event.getResponseTimeMs() < 0) {
+                return ResponseEntity.badRequest().body(new ApiResponse(false,
+                        "Each event needs either a questionId or a wordId and a non-negative responseTimeMs"));
+            }
+            Instant answeredAt = event.getAnsweredAt();
+            if (answeredAt != null && (answeredAt.isBefore(oldest) || answeredAt.isAfter(newest))) {
+                return ResponseEntity.badRequest().body(new ApiResponse(false,
+                        "answeredAt must be within the last " + maxAgeDays + " days and not in the future"));
+            }
+            // Raspunsurile la intrebari se noteaza pe server; pentru cuvinte clientul ramane sursa
+            boolean correct = event.getQuestionId() != null
+                    ? gradingService.isCorrect(event.getQuestionId(), event.getAnswer())
+                    : event.isCorrect();
+            records.add(new ProgressRecord(user.getId(), event.getQuestionId(), event.getWordId(), event.getAnswer(),
+                    correct, event.getResponseTimeMs(), answeredAt != null ? answeredAt : now));
+        }
+        try {
+            progressIngestionService.submit(records);
+            return ResponseEntity.status(HttpStatus.ACCEPTED)
+                    .body(new ApiResponse(true, "Progress accepted", Map.of("accepted", records.size())));
+        } catch (UncheckedIOException e) {
+            logger.error("Progress rejected: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(new ApiResponse(false, "Progress cannot be recorded right now"));
+        }
+    }
+}
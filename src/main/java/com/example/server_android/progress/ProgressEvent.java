@@ -0,0 +1,57 @@
+package com.example.server_android.progress;
+
+import com.example.server_android.exam.Question;
+import com.example.server_android.user.User;
+import com.example.server_android.words.Word;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.Instant;
+
+/**
+ * One answered question or reviewed word. Rows are written by {@link ProgressIngestionService} over JDBC;
+ * the entity mainly defines the schema. Question and word links carry no foreign key so that removing
+ * content from the catalog keeps the learning history.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Entity
+@Table(name = "progress_events", indexes = {
+        @Index(name = "idx_progress_user_answered", columnList = "user_id, answered_at"),
+        @Index(name = "idx_progress_user_question", columnList = "user_id, question_id"),
+        @Index(name = "idx_progress_user_word", columnList = "user_id, word_id")
+})
+public class ProgressEvent {
+    public static final int MAX_ANSWER_LENGTH = 255;
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "user_id", nullable = false)
+    private User user;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "question_id", foreignKey = @ForeignKey(ConstraintMode.NO_CONSTRAINT))
+    private Question question;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "word_id", foreignKey = @ForeignKey(ConstraintMode.NO_CONSTRAINT))
+    private Word word;
+
+    @Column(name = "answer", length = MAX_ANSWER_LENGTH)
+    private String answer;
+
+    @Column(name = "correct", nullable = false)
+    private boolean correct;
+
+    @Column(name = "response_time_ms", nullable = false)
+    private int responseTimeMs;
+
+    @Column(name = "answered_at", nullable = false)
+    private Instant answeredAt;
+}
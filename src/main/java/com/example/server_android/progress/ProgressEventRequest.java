@@ -0,0 +1,19 @@
+package com.example.server_android.progress;
+
+import jakarta.validation.constraints.Size;
+import lombok.*;
+
+import java.time.Instant;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ProgressEventRequest {
+    private Long questionId;
+    private Long wordId;
+    @Size(max = ProgressEvent.MAX_ANSWER_LENGTH, message = "Answer cannot be longer than " + ProgressEvent.MAX_ANSWER_LENGTH + " characters")
+    private String answer;
+    private boolean correct;
+    private int responseTimeMs;
+    private Instant answeredAt;
+}
@@ -0,0 +1,293 @@
+package com.example.server_android.progress;
+
+import com.example.server_android.leaderboard.LeaderboardService;
+import com.example.server_android.metrics.LatencyHistogram;
+import com.example.server_android.metrics.MetricsSource;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Write-behind ingestion of learning progress. Submitting only puts events in a bounded queue, so the
+ * caller never waits on MySQL. One flusher thread writes them in JDBC batches, which the driver rewrites
+ * into multi-row inserts, as soon as a batch is full or the oldest queued event has waited the flush
+ * interval. When the queue is full or a write fails, events go to a spill file on disk instead and are
+ * replayed once the database accepts writes again. Each batch is written in a single transaction, so it is
+ * stored entirely or not at all; events the database refuses outright end up in a dead-letter file.
+ * Delivery is at least once only across a crash in the middle of a write.
+ */
+@Service
+public class ProgressIngestionService implements MetricsSource {
+
+    private static final Logger logger = LoggerFactory.getLogger(ProgressIngestionService.class);
+
+    private static final String INSERT_EVENT = "insert into progress_events " +
+            "(user_id, question_id, word_id, answer, correct, response_time_ms, answered_at) values (?, ?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final LeaderboardService leaderboardService;
+    private final BlockingQueue<ProgressRecord> queue;
+    private final ProgressSpillFile spillFile;
+    private final int batchSize;
+    private final long flushIntervalMillis;
+    private final long retryDelayMillis;
+
+    private final LongAdder accepted = new LongAdder();
+    private final LongAdder spilled = new LongAdder();
+    private final LongAdder written = new LongAdder();
+    private final LongAdder replayed = new LongAdder();
+    private final LongAdder deadLettered = new LongAdder();
+    private final LongAdder writeFailures = new LongAdder();
+    private final LatencyHistogram flushTimes = new LatencyHistogram();
+
+    private volatile boolean running;
+    private Thread flusher;
+
+    public ProgressIngestionService(JdbcTemplate jdbcTemplate,
+                                    TransactionTemplate transactionTemplate,
+                                    LeaderboardService leaderboardService,
+                                    ObjectMapper objectMapper,
+                                    @Value("${progress.buffer.capacity:50000}") int capacity,
+                                    @Value("${progress.flush.batch-size:500}") int batchSize,
+                                    @Value("${progress.flush.interval-ms:1000}") long flushIntervalMillis,
+                                    @Value("${progress.flush.retry-delay-ms:2000}") long retryDelayMillis,
+                                    @Value("${progress.spill.path:data/progress-spill.jsonl}") String spillPath,
+                                    @Value("${progress.spill.dead-letter-path:data/progress-dead-letter.jsonl}") String deadLetterPath,
+                                    @Value("${progress.spill.fsync:true}") boolean fsync,
+                                    @Value("${progress.spill.max-bytes:268435456}") long spillMaxBytes) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.leaderboardService = leaderboardService;
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.spillFile = new ProgressSpillFile(Path.of(spillPath), Path.of(deadLetterPath), fsync, spillMaxBytes, objectMapper);
+        this.batchSize = batchSize;
+        this.flushIntervalMillis = flushIntervalMillis;
+        this.retryDelayMillis = retryDelayMillis;
+    }
+
+    @PostConstruct
+    public void start() {
+        running = true;
+        flusher = new Thread(this::flushLoop, "progress-flusher");
+        flusher.setDaemon(true);
+        flusher.start();
+    }
+
+    /**
+     * Queues the events, spilling to disk whatever does not fit.
+     *
+     * @throws UncheckedIOException if the queue is full and the spill file cannot be written either
+     */
+    public void submit(List<ProgressRecord> records) {
+        int queued = 0;
+        while (queued < records.size() && queue.offer(records.get(queued))) {
+            queued++;
+        }
+        if (queued < records.size()) {
+            List<ProgressRecord> overflow = records.subList(queued, records.size());
+            try {
+                spillFile.append(overflow);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Progress buffer is full and the spill file is not writable", e);
+            }
+            spilled.add(overflow.size());
+        }
+        accepted.add(records.size());
+    }
+
+    private void flushLoop() {
+        List<ProgressRecord> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                ProgressRecord first = queue.poll(flushIntervalMillis, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    replaySpill();
+                    continue;
+                }
+                batch.add(first);
+                long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(flushIntervalMillis);
+                while (batch.size() < batchSize) {
+                    queue.drainTo(batch, batchSize - batch.size());
+                    long remaining = deadline - System.nanoTime();
+                    if (batch.size() >= batchSize || remaining <= 0 || !running) {
+                        break;
+                    }
+                    ProgressRecord next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+                if (flush(batch)) {
+                    replaySpill();
+                } else if (running) {
+                    Thread.sleep(retryDelayMillis);
+                }
+            } catch (InterruptedException e) {
+                // stop() intrerupe asteptarea; bucla goleste ce a ramas in coada
+                running = false;
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    /** Writes the batch, or spills it if the database rejects it. Returns true if it reached the database. */
+    private boolean flush(List<ProgressRecord> batch) {
+        try {
+            write(batch);
+            written.add(batch.size());
+            return true;
+        } catch (RuntimeException e) {
+            writeFailures.increment();
+            logger.warn("Writing {} progress events failed, spilling them to disk: {}", batch.size(), e.getMessage());
+            try {
+                spillFile.append(batch);
+                spilled.add(batch.size());
+            } catch (IOException spillError) {
+                logger.error("Lost {} progress events, spill file is not writable: {}", batch.size(), spillError.getMessage());
+            }
+            return false;
+        }
+    }
+
+    private void replaySpill() {
+        try {
+            long count = spillFile.drain(batchSize, this::writeIsolatingRejects);
+            if (count > 0) {
+                replayed.add(count);
+                logger.info("Replayed {} spilled progress events", count);
+            }
+        } catch (IOException | RuntimeException e) {
+            writeFailures.increment();
+            logger.warn("Replaying spilled progress events failed: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Writes a replayed chunk. If the database refuses the data itself, the chunk is retried one event at a time
+     * so a single bad event cannot hold back the rest; the events still refused are returned for the dead-letter
+     * file. Any other failure propagates and the chunk is retried later.
+     */
+    private List<ProgressRecord> writeIsolatingRejects(List<ProgressRecord> chunk) {
+        try {
+            write(chunk);
+            return List.of();
+        } catch (DataIntegrityViolationException e) {
+            List<ProgressRecord> rejected = new ArrayList<>();
+            for (ProgressRecord record : chunk) {
+                try {
+                    write(List.of(record));
+                } catch (DataIntegrityViolationException rowError) {
+                    rejected.add(record);
+                }
+            }
+            if (!rejected.isEmpty()) {
+                deadLettered.add(rejected.size());
+                logger.error("Dead-lettered {} progress events the database refused: {}", rejected.size(), e.getMessage());
+            }
+            return rejected;
+        }
+    }
+
+    /**
+     * Writes the batch in one transaction. The driver splits a batch into several multi-row inserts, and in
+     * autocommit a failure halfway would leave the first ones stored while the whole batch gets spilled again.
+     * The correct answers of the batch are counted on the leaderboards in the same transaction.
+     */
+    private void write(List<ProgressRecord> batch) {
+        long start = System.nanoTime();
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.batchUpdate(INSERT_EVENT, batch, batch.size(), (ps, record) -> {
+                ps.setInt(1, record.getUserId());
+                setNullableLong(ps, 2, record.getQuestionId());
+                setNullableLong(ps, 3, record.getWordId());
+                ps.setString(4, record.getAnswer());
+                ps.setBoolean(5, record.isCorrect());
+                ps.setInt(6, record.getResponseTimeMs());
+                ps.setTimestamp(7, Timestamp.from(record.getAnsweredAt()));
+            });
+            // Leaderboard-ul numara intrebarile in aceeasi tranzactie, deci un lot reluat nu e numarat de doua ori
+            Map<Integer, Set<Long>> correctQuestions = new HashMap<>();
+            for (ProgressRecord record : batch) {
+                if (record.isCorrect() && record.getQuestionId() != null) {
+                    correctQuestions.computeIfAbsent(record.getUserId(), id -> new HashSet<>()).add(record.getQuestionId());
+                }
+            }
+            leaderboardService.recordCorrectAnswers(correctQuestions);
+        });
+        flushTimes.record(System.nanoTime() - start);
+    }
+
+    private static void setNullableLong(PreparedStatement ps, int index, Long value) throws SQLException {
+        if (value != null) {
+            ps.setLong(index, value);
+        } else {
+            ps.setNull(index, Types.BIGINT);
+        }
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        flusher.interrupt();
+        flusher.join(TimeUnit.SECONDS.toMillis(30));
+        List<ProgressRecord> leftover = new ArrayList<>();
+        queue.drainTo(leftover);
+        if (!leftover.isEmpty()) {
+            try {
+                spillFile.append(leftover);
+            } catch (IOException e) {
+                logger.error("Lost {} progress events on shutdown: {}", leftover.size(), e.getMessage());
+            }
+        }
+    }
+
+    @Override
+    public String metricsName() {
+        return "progressIngestion";
+    }
+
+    @Override
+    public Object metricsSnapshot() {
+        Map<String, Object> snapshot = new LinkedHashMap<>();
+        snapshot.put("queued", queue.size());
+        snapshot.put("accepted", accepted.sum());
+        snapshot.put("written", written.sum());
+        snapshot.put("spilled", spilled.sum());
+        snapshot.put("replayed", replayed.sum());
+        snapshot.put("deadLettered", deadLettered.sum());
+        snapshot.put("writeFailures", writeFailures.sum());
+        snapshot.put("spillFileBytes", spillFile.sizeBytes());
+        snapshot.put("deadLetterFileBytes", spillFile.deadLetterBytes());
+        snapshot.put("flushTimes", flushTimes.snapshot());
+        return snapshot;
+    }
+}
@@ -0,0 +1,19 @@
+package com.example.server_android.progress;
+
+import lombok.*;
+
+import java.time.Instant;
+
+/** A progress event waiting in the buffer or the spill file. */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ProgressRecord {
+    private Integer userId;
+    private Long questionId;
+    private Long wordId;
+    private String answer;
+    private boolean correct;
+    private int responseTimeMs;
+    private Instant answeredAt;
+}
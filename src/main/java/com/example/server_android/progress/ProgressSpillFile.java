@@ -0,0 +1,192 @@
+package com.example.server_android.progress;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.*;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Append-only JSON-lines file holding progress events that could not go to the database in time.
+ * Draining first moves the file aside, so appends keep going to a fresh file meanwhile. The byte offset
+ * reached in the moved file is checkpointed after every chunk, so a drain that fails resumes where it
+ * stopped instead of copying the rest back. Events the writer rejects for good, and lines that no longer
+ * parse, go to a dead-letter file and are never retried.
+ */
+class ProgressSpillFile {
+
+    private final Path path;
+    private final Path drainingPath;
+    private final Path offsetPath;
+    private final Path deadLetterPath;
+    private final boolean fsync;
+    private final long maxBytes;
+    private final ObjectMapper objectMapper;
+
+    ProgressSpillFile(Path path, Path deadLetterPath, boolean fsync, long maxBytes, ObjectMapper objectMapper) {
+        this.path = path;
+        this.drainingPath = path.resolveSibling(path.getFileName() + ".draining");
+        this.offsetPath = path.resolveSibling(path.getFileName() + ".offset");
+        this.deadLetterPath = deadLetterPath;
+        this.fsync = fsync;
+        this.maxBytes = maxBytes;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * @throws IOException if the file cannot be written or already holds {@code maxBytes}
+     */
+    synchronized void append(List<ProgressRecord> records) throws IOException {
+        if (records.isEmpty()) {
+            return;
+        }
+        if (maxBytes > 0 && sizeBytes() >= maxBytes) {
+            throw new IOException("Spill file is full (" + maxBytes + " bytes)");
+        }
+        List<String> lines = new ArrayList<>(records.size());
+        for (ProgressRecord record : records) {
+            lines.add(objectMapper.writeValueAsString(record));
+        }
+        appendLines(path, lines);
+    }
+
+    private void appendLines(Path target, List<String> lines) throws IOException {
+        Path parent = target.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        try (FileChannel channel = FileChannel.open(target, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.APPEND)) {
+            Writer writer = new BufferedWriter(Channels.newWriter(channel, StandardCharsets.UTF_8));
+            for (String line : lines) {
+                writer.write(line);
+                writer.write('\n');
+            }
+            writer.flush();
+            if (fsync) {
+                channel.force(false);
+            }
+        }
+    }
+
+    synchronized long sizeBytes() {
+        try {
+            return (Files.exists(path) ? Files.size(path) : 0) + (Files.exists(drainingPath) ? Files.size(drainingPath) : 0);
+        } catch (IOException e) {
+            return -1;
+        }
+    }
+
+    synchronized long deadLetterBytes() {
+        try {
+            return Files.exists(deadLetterPath) ? Files.size(deadLetterPath) : 0;
+        } catch (IOException e) {
+            return -1;
+        }
+    }
+
+    /**
+     * Hands the spilled events to {@code writer} in chunks of {@code chunkSize}, oldest first. The writer
+     * returns the events of the chunk it rejected for good; those are dead-lettered. Returns the number of
+     * events written. If the writer throws, the drain stops and the next one starts again at that chunk.
+     */
+    long drain(int chunkSize, Function<List<ProgressRecord>, List<ProgressRecord>> writer) throws IOException {
+        synchronized (this) {
+            // Un .draining ramas de la o oprire bruscă sau de la un drain esuat se reia înaintea fișierului curent
+            if (!Files.exists(drainingPath)) {
+                if (!Files.exists(path) || Files.size(path) == 0) {
+                    return 0;
+                }
+                Files.deleteIfExists(offsetPath);
+                Files.move(path, drainingPath, StandardCopyOption.ATOMIC_MOVE);
+            }
+        }
+        long offset = Math.min(readOffset(), Files.size(drainingPath));
+        long written = 0;
+        List<ProgressRecord> chunk = new ArrayList<>(chunkSize);
+        List<String> unreadable = new ArrayList<>();
+        try (InputStream in = new BufferedInputStream(Files.newInputStream(drainingPath))) {
+            in.skipNBytes(offset);
+            ByteArrayOutputStream line = new ByteArrayOutputStream();
+            long position = offset;
+            int next;
+            while ((next = in.read()) != -1) {
+                position++;
+                if (next != '\n') {
+                    line.write(next);
+                    continue;
+                }
+                parse(line.toString(StandardCharsets.UTF_8), chunk, unreadable);
+                line.reset();
+                if (chunk.size() == chunkSize) {
+                    written += writeChunk(chunk, unreadable, writer, position);
+                }
+            }
+            // O ultima linie fara '\n' e o scriere intrerupta; daca nu se parseaza ajunge in dead-letter
+            parse(line.toString(StandardCharsets.UTF_8), chunk, unreadable);
+            if (!chunk.isEmpty() || !unreadable.isEmpty()) {
+                written += writeChunk(chunk, unreadable, writer, position);
+            }
+        }
+        Files.deleteIfExists(drainingPath);
+        Files.deleteIfExists(offsetPath);
+        return written;
+    }
+
+    private void parse(String line, List<ProgressRecord> chunk, List<String> unreadable) {
+        if (line.isBlank()) {
+            return;
+        }
+        try {
+            chunk.add(objectMapper.readValue(line, ProgressRecord.class));
+        } catch (IOException e) {
+            unreadable.add(line);
+        }
+    }
+
+    private long writeChunk(List<ProgressRecord> chunk, List<String> unreadable,
+                            Function<List<ProgressRecord>, List<ProgressRecord>> writer, long position) throws IOException {
+        List<ProgressRecord> rejected = chunk.isEmpty() ? List.of() : writer.apply(chunk);
+        List<String> deadLetters = new ArrayList<>(unreadable);
+        for (ProgressRecord record : rejected) {
+            deadLetters.add(objectMapper.writeValueAsString(record));
+        }
+        if (!deadLetters.isEmpty()) {
+            synchronized (this) {
+                appendLines(deadLetterPath, deadLetters);
+            }
+        }
+        saveOffset(position);
+        long written = chunk.size() - rejected.size();
+        chunk.clear();
+        unreadable.clear();
+        return written;
+    }
+
+    private long readOffset() {
+        try {
+            return Files.exists(offsetPath) ? Long.parseLong(Files.readString(offsetPath).trim()) : 0;
+        } catch (IOException | NumberFormatException e) {
+            // Fara checkpoint valid se reia de la inceput; evenimentele scrise deja ajung de doua ori
+            return 0;
+        }
+    }
+
+    private void saveOffset(long position) throws IOException {
+        try (FileChannel channel = FileChannel.open(offsetPath, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            channel.write(StandardCharsets.UTF_8.encode(Long.toString(position)));
+            if (fsync) {
+                channel.force(false);
+            }
+        }
+    }
+}
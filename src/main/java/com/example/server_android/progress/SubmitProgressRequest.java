@@ -0,0 +1,16 @@
+package com.example.server_android.progress;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import lombok.*;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class SubmitProgressRequest {
+
+    @NotEmpty(message = "Events cannot be empty")
+    private List<@Valid ProgressEventRequest> events;
+}
@@ -0,0 +1,75 @@
+package com.example.server_android.ratelimit;
+
+import com.example.server_android.metrics.MetricsSource;
+import lombok.AllArgsConstructor;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Applies the per-endpoint limits from {@code rate-limit.<endpoint>.capacity} and
+ * {@code rate-limit.<endpoint>.refill-per-minute} separately to the client address and to the email.
+ */
+@Component
+public class AuthRateLimiter implements MetricsSource {
+
+    private final TokenBucketRateLimiter limiter;
+    private final Map<RateLimitedEndpoint, Policy> policies = new EnumMap<>(RateLimitedEndpoint.class);
+    private final LongAdder allowed = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+
+    public AuthRateLimiter(Environment environment) {
+        this.limiter = new TokenBucketRateLimiter(
+                environment.getProperty("rate-limit.stripes", Integer.class, 64),
+                environment.getProperty("rate-limit.max-keys", Integer.class, 100_000));
+        for (RateLimitedEndpoint endpoint : RateLimitedEndpoint.values()) {
+            String prefix = "rate-limit." + endpoint.getId();
+            int capacity = environment.getProperty(prefix + ".capacity", Integer.class, 10);
+            double refillPerMinute = environment.getProperty(prefix + ".refill-per-minute", Double.class, 10.0);
+            policies.put(endpoint, new Policy(capacity, refillPerMinute / 60));
+        }
+    }
+
+    /**
+     * @return 0 if the call may proceed, otherwise the milliseconds the client should wait
+     */
+    public long tryAcquire(RateLimitedEndpoint endpoint, String clientAddress, String email) {
+        Policy policy = policies.get(endpoint);
+        long wait = limiter.tryAcquire(endpoint.getId() + "|ip|" + clientAddress, policy.capacity, policy.refillPerSecond);
+        if (wait == 0 && email != null && !email.isBlank()) {
+            String normalizedEmail = email.trim().toLowerCase(Locale.ROOT);
+            wait = limiter.tryAcquire(endpoint.getId() + "|email|" + normalizedEmail, policy.capacity, policy.refillPerSecond);
+        }
+        if (wait == 0) {
+            allowed.increment();
+        } else {
+            rejected.increment();
+        }
+        return wait;
+    }
+
+    @Override
+    public String metricsName() {
+        return "authRateLimiter";
+    }
+
+    @Override
+    public Object metricsSnapshot() {
+        Map<String, Object> snapshot = new LinkedHashMap<>();
+        snapshot.put("allowed", allowed.sum());
+        snapshot.put("rejected", rejected.sum());
+        snapshot.put("trackedKeys", limiter.size());
+        return snapshot;
+    }
+
+    @AllArgsConstructor
+    private static class Policy {
+        private final int capacity;
+        private final double refillPerSecond;
+    }
+}
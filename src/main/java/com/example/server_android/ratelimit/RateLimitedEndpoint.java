@@ -0,0 +1,17 @@
+package com.example.server_android.ratelimit;
+
+public enum RateLimitedEndpoint {
+    CREATE_ACCOUNT("create-account"),
+    LOGIN_ACCOUNT("login-account"),
+    RESEND_CONFIRMATION_EMAIL("resend-confirmation-email");
+
+    private final String id;
+
+    RateLimitedEndpoint(String id) {
+        this.id = id;
+    }
+
+    public String getId() {
+        return id;
+    }
+}
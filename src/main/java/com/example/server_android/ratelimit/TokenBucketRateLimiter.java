@@ -0,0 +1,81 @@
+package com.example.server_android.ratelimit;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Token buckets keyed by string, split over independently locked stripes. Each stripe keeps at most
+ * {@code maxKeys / stripes} buckets and drops the least recently used one when full; a dropped bucket
+ * only means that key starts again with a full bucket.
+ */
+public class TokenBucketRateLimiter {
+
+    private final Stripe[] stripes;
+
+    public TokenBucketRateLimiter(int stripeCount, int maxKeys) {
+        this.stripes = new Stripe[stripeCount];
+        int keysPerStripe = Math.max(1, maxKeys / stripeCount);
+        for (int i = 0; i < stripeCount; i++) {
+            stripes[i] = new Stripe(keysPerStripe);
+        }
+    }
+
+    /**
+     * Takes one token from the bucket of {@code key}.
+     *
+     * @return 0 if a token was taken, otherwise the number of milliseconds until one becomes available
+     */
+    public long tryAcquire(String key, int capacity, double refillPerSecond) {
+        Stripe stripe = stripes[Math.floorMod(key.hashCode(), stripes.length)];
+        long now = System.nanoTime();
+        synchronized (stripe) {
+            Bucket bucket = stripe.buckets.get(key);
+            if (bucket == null) {
+                bucket = new Bucket(capacity, now);
+                stripe.buckets.put(key, bucket);
+            } else {
+                double refilled = (now - bucket.lastRefillNanos) / 1_000_000_000.0 * refillPerSecond;
+                bucket.tokens = Math.min(capacity, bucket.tokens + refilled);
+                bucket.lastRefillNanos = now;
+            }
+            if (bucket.tokens >= 1) {
+                bucket.tokens -= 1;
+                return 0;
+            }
+            return (long) Math.ceil((1 - bucket.tokens) / refillPerSecond * 1000);
+        }
+    }
+
+    public int size() {
+        int size = 0;
+        for (Stripe stripe : stripes) {
+            synchronized (stripe) {
+                size += stripe.buckets.size();
+            }
+        }
+        return size;
+    }
+
+    private static class Stripe {
+        private final Map<String, Bucket> buckets;
+
+        Stripe(int maxKeys) {
+            this.buckets = new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, Bucket> eldest) {
+                    return size() > maxKeys;
+                }
+            };
+        }
+    }
+
+    private static class Bucket {
+        private double tokens;
+        private long lastRefillNanos;
+
+        Bucket(double tokens, long lastRefillNanos) {
+            this.tokens = tokens;
+            this.lastRefillNanos = lastRefillNanos;
+        }
+    }
+}
@@ -0,0 +1,180 @@
+package com.example.server_android.retention;
+
+import com.example.server_android.config.JwtService;
+import com.example.server_android.config.VerifiedTokenCache;
+import com.example.server_android.metrics.MetricsSource;
+import com.example.server_android.token.TokenRepository;
+import com.example.server_android.user.UserPrincipalCache;
+import com.example.server_android.user.UserRepository;
+import lombok.AllArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.ToIntFunction;
+
+/**
+ * Deletes old token rows and accounts that were never confirmed, in small id-ordered batches,
+ * each in its own transaction and with a pause in between so live logins do not queue behind it.
+ * A token row older than the JWT lifetime can no longer authenticate, flagged or not, so tokens
+ * are selected by age alone. The progress, review and leaderboard rows of an unconfirmed user are
+ * deleted with the account. Deleted users are evicted from the authentication caches, so they
+ * stop authenticating as soon as their batch commits.
+ */
+@Component
+public class RetentionPurgeJob implements MetricsSource {
+
+    private static final Logger logger = LoggerFactory.getLogger(RetentionPurgeJob.class);
+
+    // Tabelele scrise prin JDBC care refera user fara cascade; se golesc inaintea stergerii contului
+    private static final List<String> USER_DATA_TABLES = List.of("progress_events", "word_reviews", "leaderboard_scores",
+            "leaderboard_answers");
+
+    private final TokenRepository tokenRepository;
+    private final UserRepository userRepository;
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final UserPrincipalCache userPrincipalCache;
+    private final VerifiedTokenCache verifiedTokenCache;
+    private final Duration tokenMaxAge;
+    private final Duration unconfirmedUserMaxAge;
+    private final int batchSize;
+    private final long pauseMillis;
+
+    private final AtomicLong tokensDeleted = new AtomicLong();
+    private final AtomicLong usersDeleted = new AtomicLong();
+    private final AtomicLong batches = new AtomicLong();
+    private final AtomicLong lastBatchMillis = new AtomicLong();
+    private final AtomicLong maxBatchMillis = new AtomicLong();
+    private final AtomicLong totalBatchMillis = new AtomicLong();
+
+    public RetentionPurgeJob(TokenRepository tokenRepository,
+                             UserRepository userRepository,
+                             NamedParameterJdbcTemplate jdbcTemplate,
+                             TransactionTemplate transactionTemplate,
+                             UserPrincipalCache userPrincipalCache,
+                             VerifiedTokenCache verifiedTokenCache,
+                             @Value("${retention.token.max-age-hours:24}") long tokenMaxAgeHours,
+                             @Value("${retention.unconfirmed-user.max-age-hours:72}") long unconfirmedUserMaxAgeHours,
+                             @Value("${retention.purge.batch-size:500}") int batchSize,
+                             @Value("${retention.purge.pause-ms:50}") long pauseMillis) {
+        this.tokenRepository = tokenRepository;
+        this.userRepository = userRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.userPrincipalCache = userPrincipalCache;
+        this.verifiedTokenCache = verifiedTokenCache;
+        Duration tokenValidity = Duration.ofMillis(JwtService.TOKEN_VALIDITY_MILLIS);
+        Duration configuredTokenMaxAge = Duration.ofHours(tokenMaxAgeHours);
+        this.tokenMaxAge = configuredTokenMaxAge.compareTo(tokenValidity) > 0 ? configuredTokenMaxAge : tokenValidity;
+        this.unconfirmedUserMaxAge = Duration.ofHours(unconfirmedUserMaxAgeHours);
+        this.batchSize = batchSize;
+        this.pauseMillis = pauseMillis;
+    }
+
+    @Scheduled(initialDelayString = "${retention.purge.initial-delay-ms:60000}",
+            fixedDelayString = "${retention.purge.interval-ms:3600000}")
+    public void purge() {
+        Instant tokenCutoff = Instant.now().minus(tokenMaxAge);
+        long tokens = purgeInBatches(
+                afterId -> tokenRepository.findIdsCreatedBefore(tokenCutoff, afterId, PageRequest.ofSize(batchSize)),
+                tokenRepository::deleteAllByIdIn);
+        tokensDeleted.addAndGet(tokens);
+
+        Instant userCutoff = Instant.now().minus(unconfirmedUserMaxAge);
+        long users = purgeInBatches(
+                afterId -> userRepository.findUnconfirmedIdsCreatedBefore(userCutoff, afterId, PageRequest.ofSize(batchSize)),
+                ids -> {
+                    List<String> emails = userRepository.findUnconfirmedEmailsByIdIn(ids);
+                    tokenRepository.deleteAllOfUnconfirmedUsers(ids);
+                    deleteUserData(ids);
+                    int deleted = userRepository.deleteUnconfirmedByIdIn(ids);
+                    // Ambele cache-uri scot intrarea acum si din nou dupa commit
+                    for (String email : emails) {
+                        userPrincipalCache.evict(email);
+                        verifiedTokenCache.invalidateUser(email);
+                    }
+                    return deleted;
+                });
+        usersDeleted.addAndGet(users);
+
+        if (tokens > 0 || users > 0) {
+            logger.info("Retention purge removed {} tokens and {} unconfirmed users", tokens, users);
+        }
+    }
+
+    private void deleteUserData(List<Integer> userIds) {
+        Map<String, Object> params = Map.of("userIds", userIds);
+        for (String table : USER_DATA_TABLES) {
+            jdbcTemplate.update("delete from " + table +
+                    " where user_id in (select u.id from user u where u.id in (:userIds) and u.confirmed_at is null)", params);
+        }
+    }
+
+    public RetentionStats stats() {
+        return new RetentionStats(tokensDeleted.get(), usersDeleted.get(), batches.get(),
+                lastBatchMillis.get(), maxBatchMillis.get(), totalBatchMillis.get());
+    }
+
+    @Override
+    public String metricsName() {
+        return "retentionPurge";
+    }
+
+    @Override
+    public Object metricsSnapshot() {
+        return stats();
+    }
+
+    private long purgeInBatches(Function<Integer, List<Integer>> nextIds, ToIntFunction<List<Integer>> delete) {
+        long deleted = 0;
+        int afterId = 0;
+        while (true) {
+            long start = System.nanoTime();
+            int cursor = afterId;
+            BatchResult batch = transactionTemplate.execute(status -> {
+                List<Integer> ids = nextIds.apply(cursor);
+                if (ids.isEmpty()) {
+                    return null;
+                }
+                return new BatchResult(ids.get(ids.size() - 1), delete.applyAsInt(ids));
+            });
+            if (batch == null) {
+                return deleted;
+            }
+            recordBatch((System.nanoTime() - start) / 1_000_000);
+            afterId = batch.lastId;
+            deleted += batch.deleted;
+            try {
+                Thread.sleep(pauseMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return deleted;
+            }
+        }
+    }
+
+    private void recordBatch(long millis) {
+        batches.incrementAndGet();
+        lastBatchMillis.set(millis);
+        totalBatchMillis.addAndGet(millis);
+        maxBatchMillis.accumulateAndGet(millis, Math::max);
+    }
+
+    @AllArgsConstructor
+    private static class BatchResult {
+        private final int lastId;
+        private final int deleted;
+    }
+}
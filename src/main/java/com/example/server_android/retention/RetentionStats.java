@@ -0,0 +1,13 @@
+package com.example.server_android.retention;
+
+import lombok.Value;
+
+@Value
+public class RetentionStats {
+    long tokensDeleted;
+    long usersDeleted;
+    long batches;
+    long lastBatchMillis;
+    long maxBatchMillis;
+    long totalBatchMillis;
+}
@@ -0,0 +1,17 @@
+package com.example.server_android.review;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.Instant;
+
+@Getter
+@AllArgsConstructor
+public class DueWord {
+    private Long wordId;
+    private String englishWord;
+    private String romanianWord;
+    private Instant dueAt;
+    private int intervalDays;
+    private int repetitions;
+}
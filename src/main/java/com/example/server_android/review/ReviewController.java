@@ -0,0 +1,89 @@
+package com.example.server_android.review;
+
+import com.example.server_android.auth.ApiResponse;
+import com.example.server_android.user.User;
+import com.example.server_android.words.Word;
+import com.example.server_android.words.WordRepository;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.*;
+
+@RestController
+@RequestMapping("/api/v1/review")
+@RequiredArgsConstructor
+public class ReviewController {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReviewController.class);
+    private final ReviewScheduler reviewScheduler;
+    private final WordRepository wordRepository;
+
+    @Value("${review.due.max-limit:100}")
+    private int maxLimit;
+
+    @GetMapping("/due")
+    public ResponseEntity<ApiResponse> getDueWords(@AuthenticationPrincipal User user,
+                                                   @RequestParam(value = "limit", defaultValue = "20") int limit) {
+        try {
+            int wanted = Math.max(1, Math.min(limit, maxLimit));
+            List<DueWord> result;
+            do {
+                result = dueWords(user.getId(), wanted);
+            } while (result == null);
+            return ResponseEntity.ok(new ApiResponse(true, "Due words fetched successfully", result));
+        } catch (Exception e) {
+            logger.error("Error fetching due words: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(new ApiResponse(false, "Error fetching due words"));
+        }
+    }
+
+    /**
+     * Hydrates the due states with their words. Returns null after dropping states whose word was deleted
+     * from the catalog, so the caller asks again and the freed places go to words that still exist.
+     */
+    private List<DueWord> dueWords(Integer userId, int limit) {
+        List<ReviewState> due = reviewScheduler.due(userId, limit);
+        Map<Long, Word> words = new HashMap<>();
+        if (!due.isEmpty()) {
+            List<Long> wordIds = due.stream().map(ReviewState::getWordId).toList();
+            wordRepository.findAllById(wordIds).forEach(word -> words.put(word.getId(), word));
+        }
+        List<DueWord> result = new ArrayList<>(due.size());
+        List<Long> missing = new ArrayList<>();
+        for (ReviewState state : due) {
+            Word word = words.get(state.getWordId());
+            if (word == null) {
+                missing.add(state.getWordId());
+            } else {
+                result.add(new DueWord(word.getId(), word.getEnglishWord(), word.getRomanianWord(),
+                        state.getDueAt(), state.getIntervalDays(), state.getRepetitions()));
+            }
+        }
+        if (!missing.isEmpty()) {
+            reviewScheduler.forget(userId, missing);
+            return null;
+        }
+        return result;
+    }
+
+    @PostMapping
+    public ResponseEntity<ApiResponse> review(@AuthenticationPrincipal User user,
+                                              @RequestBody @Validated ReviewRequest request) {
+        try {
+            ReviewState state = reviewScheduler.review(user.getId(), request.getWordId(), request.getQuality());
+            return ResponseEntity.ok(new ApiResponse(true, "Review recorded", state));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(new ApiResponse(false, e.getMessage()));
+        } catch (Exception e) {
+            logger.error("Error recording review: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(new ApiResponse(false, "Error recording review"));
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package com.example.server_android.review;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import lombok.*;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ReviewRequest {
+
+    @NotNull(message = "Word id cannot be null")
+    private Long wordId;
+
+    @Min(value = 0, message = "Quality must be between 0 and 5")
+    @Max(value = 5, message = "Quality must be between 0 and 5")
+    private int quality;
+}
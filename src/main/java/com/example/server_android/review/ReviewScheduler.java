@@ -0,0 +1,274 @@
+package com.example.server_android.review;
+
+import com.example.server_android.metrics.MetricsSource;
+import com.example.server_android.words.WordRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.AllArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * Spaced-repetition scheduling with the review states of active users held in memory. A user's queue is
+ * loaded from word_reviews on first use and evicted after it has been idle and fully written back.
+ * Reviews update the queue immediately and reach the database on the next scheduled flush. States of words
+ * deleted from the catalog are dropped when a queue is loaded or when the due list fails to find the word.
+ */
+@Service
+public class ReviewScheduler implements MetricsSource {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReviewScheduler.class);
+
+    // Randurile cuvintelor sterse din catalog nu se mai incarca
+    private static final String SELECT_USER_REVIEWS = "select r.word_id, r.ease, r.interval_days, r.repetitions, " +
+            "r.due_at, r.last_reviewed_at from word_reviews r join words w on w.id = r.word_id where r.user_id = ?";
+    private static final String DELETE_REVIEW = "delete from word_reviews where user_id = ? and word_id = ?";
+    private static final String UPSERT_REVIEW = "insert into word_reviews " +
+            "(user_id, word_id, ease, interval_days, repetitions, due_at, last_reviewed_at) values (?, ?, ?, ?, ?, ?, ?) " +
+            "on duplicate key update ease = values(ease), interval_days = values(interval_days), " +
+            "repetitions = values(repetitions), due_at = values(due_at), last_reviewed_at = values(last_reviewed_at)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final WordRepository wordRepository;
+    private final ConcurrentHashMap<Integer, UserReviewQueue> queues = new ConcurrentHashMap<>();
+    private final long idleMillis;
+    private final int flushBatchSize;
+
+    private final LongAdder loads = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder reviews = new LongAdder();
+    private final LongAdder forgotten = new LongAdder();
+    private final LongAdder written = new LongAdder();
+    private final LongAdder flushFailures = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+
+    public ReviewScheduler(JdbcTemplate jdbcTemplate,
+                           WordRepository wordRepository,
+                           @Value("${review.queue.idle-minutes:30}") long idleMinutes,
+                           @Value("${review.flush.batch-size:500}") int flushBatchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.wordRepository = wordRepository;
+        this.idleMillis = idleMinutes * 60_000;
+        this.flushBatchSize = flushBatchSize;
+    }
+
+    public List<ReviewState> due(Integer userId, int limit) {
+        Instant now = Instant.now();
+        return withQueue(userId, queue -> queue.due(now, limit));
+    }
+
+    /**
+     * Applies a review graded 0-5 and returns the new state.
+     *
+     * @throws IllegalArgumentException for an invalid grade or a word that does not exist
+     */
+    public ReviewState review(Integer userId, long wordId, int quality) {
+        Instant now = Instant.now();
+        boolean known = withQueue(userId, queue -> queue.get(wordId) != null);
+        // Doar prima recenzie a unui cuvant verifica existenta lui in baza de date
+        if (!known && !wordRepository.existsById(wordId)) {
+            throw new IllegalArgumentException("Unknown word: " + wordId);
+        }
+        ReviewState state = withQueue(userId, queue -> {
+            ReviewState next = Sm2.review(queue.get(wordId), wordId, quality, now);
+            queue.put(next);
+            return next;
+        });
+        reviews.increment();
+        return state;
+    }
+
+    /**
+     * Drops the states of words that no longer exist, from the queue and from word_reviews, so they stop
+     * taking up places among the due words.
+     */
+    public void forget(Integer userId, Collection<Long> wordIds) {
+        withQueue(userId, queue -> {
+            wordIds.forEach(queue::remove);
+            return null;
+        });
+        List<Object[]> rows = new ArrayList<>(wordIds.size());
+        for (Long wordId : wordIds) {
+            rows.add(new Object[]{userId, wordId});
+        }
+        jdbcTemplate.batchUpdate(DELETE_REVIEW, rows);
+        forgotten.add(wordIds.size());
+    }
+
+    private <R> R withQueue(Integer userId, Function<UserReviewQueue, R> action) {
+        while (true) {
+            UserReviewQueue queue = queues.get(userId);
+            if (queue == null) {
+                queue = loadQueue(userId);
+            }
+            synchronized (queue) {
+                if (!queue.isEvicted()) {
+                    queue.touch();
+                    return action.apply(queue);
+                }
+            }
+            // Evacuata intre cautare si blocare; se reincarca
+            queues.remove(userId, queue);
+        }
+    }
+
+    /**
+     * Publishes an empty queue first and fills it while holding its monitor, so the query runs outside the
+     * map's bin lock and concurrent callers for the same user wait on the queue instead of loading it again.
+     */
+    private UserReviewQueue loadQueue(Integer userId) {
+        UserReviewQueue queue = new UserReviewQueue();
+        synchronized (queue) {
+            UserReviewQueue existing = queues.putIfAbsent(userId, queue);
+            if (existing != null) {
+                return existing;
+            }
+            try {
+                jdbcTemplate.query(SELECT_USER_REVIEWS, rs -> {
+                    queue.load(new ReviewState(rs.getLong(1), rs.getDouble(2), rs.getInt(3), rs.getInt(4),
+                            rs.getTimestamp(5).toInstant(), rs.getTimestamp(6).toInstant()));
+                }, userId);
+            } catch (RuntimeException e) {
+                queue.discard();
+                queues.remove(userId, queue);
+                throw e;
+            }
+        }
+        loads.increment();
+        return queue;
+    }
+
+    @Scheduled(fixedDelayString = "${review.flush.interval-ms:2000}")
+    public void flush() {
+        List<PendingState> pending = new ArrayList<>();
+        queues.forEach((userId, queue) -> {
+            synchronized (queue) {
+                if (queue.dirtyCount() == 0) {
+                    return;
+                }
+                for (ReviewState state : queue.dirtyStates()) {
+                    pending.add(new PendingState(userId, queue, state));
+                }
+            }
+        });
+        for (int from = 0; from < pending.size(); from += flushBatchSize) {
+            List<PendingState> chunk = pending.subList(from, Math.min(pending.size(), from + flushBatchSize));
+            try {
+                writeChunk(chunk);
+            } catch (RuntimeException e) {
+                // Starile raman murdare si se rescriu la urmatorul flush; upsert-ul e idempotent
+                flushFailures.increment();
+                logger.warn("Writing {} review states failed: {}", pending.size() - from, e.getMessage());
+                return;
+            }
+        }
+    }
+
+    /**
+     * Writes one chunk. If the database refuses the data itself, the chunk is retried row by row and the rows
+     * still refused are dropped, so one bad state cannot hold back every other user's reviews.
+     */
+    private void writeChunk(List<PendingState> chunk) {
+        try {
+            jdbcTemplate.batchUpdate(UPSERT_REVIEW, rows(chunk));
+            markWritten(chunk);
+            written.add(chunk.size());
+        } catch (DataIntegrityViolationException e) {
+            for (PendingState row : chunk) {
+                try {
+                    jdbcTemplate.batchUpdate(UPSERT_REVIEW, rows(List.of(row)));
+                    written.increment();
+                } catch (DataIntegrityViolationException rowError) {
+                    dropped.increment();
+                    logger.error("Dropped review state of user {} for word {}: {}",
+                            row.userId, row.state.getWordId(), rowError.getMessage());
+                }
+                markWritten(List.of(row));
+            }
+        }
+    }
+
+    private static List<Object[]> rows(List<PendingState> pending) {
+        List<Object[]> rows = new ArrayList<>(pending.size());
+        for (PendingState row : pending) {
+            ReviewState state = row.state;
+            rows.add(new Object[]{row.userId, state.getWordId(), state.getEase(), state.getIntervalDays(),
+                    state.getRepetitions(), Timestamp.from(state.getDueAt()), Timestamp.from(state.getLastReviewedAt())});
+        }
+        return rows;
+    }
+
+    private void markWritten(List<PendingState> pending) {
+        for (PendingState row : pending) {
+            synchronized (row.queue) {
+                row.queue.markWritten(List.of(row.state));
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${review.queue.eviction-interval-ms:60000}")
+    public void evictIdle() {
+        long cutoff = System.currentTimeMillis() - idleMillis;
+        queues.forEach((userId, queue) -> {
+            boolean evicted;
+            synchronized (queue) {
+                evicted = queue.evictIfIdle(cutoff);
+            }
+            if (evicted && queues.remove(userId, queue)) {
+                evictions.increment();
+            }
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flush();
+    }
+
+    @Override
+    public String metricsName() {
+        return "reviewScheduler";
+    }
+
+    @Override
+    public Object metricsSnapshot() {
+        int states = 0;
+        int dirty = 0;
+        for (UserReviewQueue queue : queues.values()) {
+            synchronized (queue) {
+                states += queue.size();
+                dirty += queue.dirtyCount();
+            }
+        }
+        Map<String, Object> snapshot = new LinkedHashMap<>();
+        snapshot.put("activeUsers", queues.size());
+        snapshot.put("states", states);
+        snapshot.put("unwritten", dirty);
+        snapshot.put("loads", loads.sum());
+        snapshot.put("evictions", evictions.sum());
+        snapshot.put("reviews", reviews.sum());
+        snapshot.put("forgotten", forgotten.sum());
+        snapshot.put("written", written.sum());
+        snapshot.put("flushFailures", flushFailures.sum());
+        snapshot.put("dropped", dropped.sum());
+        return snapshot;
+    }
+
+    @AllArgsConstructor
+    private static class PendingState {
+        private final Integer userId;
+        private final UserReviewQueue queue;
+        private final ReviewState state;
+    }
+}
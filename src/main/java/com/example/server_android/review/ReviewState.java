@@ -0,0 +1,18 @@
+package com.example.server_android.review;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.Instant;
+
+/** Immutable SM-2 state of one word; a review replaces it with a new instance. */
+@Getter
+@AllArgsConstructor
+public class ReviewState {
+    private final long wordId;
+    private final double ease;
+    private final int intervalDays;
+    private final int repetitions;
+    private final Instant dueAt;
+    private final Instant lastReviewedAt;
+}
@@ -0,0 +1,48 @@
+package com.example.server_android.review;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * SuperMemo 2: a review graded 0-5; grades below 3 restart the word at one day, otherwise the interval
+ * goes 1 day, 6 days, then grows by the ease factor, which itself drifts with the grade and never
+ * drops under 1.3. The interval is capped at {@link #MAX_INTERVAL_DAYS}, so back-to-back reviews cannot
+ * push the due date past what the database stores.
+ */
+public final class Sm2 {
+
+    public static final double INITIAL_EASE = 2.5;
+    public static final double MIN_EASE = 1.3;
+    public static final int MAX_QUALITY = 5;
+    public static final int MAX_INTERVAL_DAYS = 36500;
+
+    private Sm2() {
+    }
+
+    public static ReviewState review(ReviewState previous, long wordId, int quality, Instant now) {
+        if (quality < 0 || quality > MAX_QUALITY) {
+            throw new IllegalArgumentException("Quality must be between 0 and " + MAX_QUALITY);
+        }
+        double ease = previous != null ? previous.getEase() : INITIAL_EASE;
+        int repetitions = previous != null ? previous.getRepetitions() : 0;
+        int interval = previous != null ? previous.getIntervalDays() : 0;
+
+        if (quality < 3) {
+            repetitions = 0;
+            interval = 1;
+        } else {
+            if (repetitions == 0) {
+                interval = 1;
+            } else if (repetitions == 1) {
+                interval = 6;
+            } else {
+                interval = (int) Math.min(MAX_INTERVAL_DAYS, Math.round(interval * ease));
+            }
+            repetitions++;
+        }
+        int miss = MAX_QUALITY - quality;
+        ease = Math.max(MIN_EASE, ease + 0.1 - miss * (0.08 + miss * 0.02));
+
+        return new ReviewState(wordId, ease, interval, repetitions, now.plus(Duration.ofDays(interval)), now);
+    }
+}
@@ -0,0 +1,105 @@
+package com.example.server_android.review;
+
+import java.time.Instant;
+import java.util.*;
+
+/**
+ * Review states of one user ordered by due date, plus an index by word, so both "next due" and a
+ * single update cost O(log n). Not thread-safe: callers hold the queue's monitor.
+ */
+class UserReviewQueue {
+
+    private static final Comparator<ReviewState> BY_DUE = Comparator
+            .comparing(ReviewState::getDueAt)
+            .thenComparingLong(ReviewState::getWordId);
+
+    private final TreeSet<ReviewState> byDue = new TreeSet<>(BY_DUE);
+    private final Map<Long, ReviewState> byWord = new HashMap<>();
+    // Cuvinte modificate care nu au ajuns inca in baza de date
+    private final Set<Long> dirty = new HashSet<>();
+    private long lastAccessMillis = System.currentTimeMillis();
+    private boolean evicted;
+
+    void load(ReviewState state) {
+        byWord.put(state.getWordId(), state);
+        byDue.add(state);
+    }
+
+    ReviewState get(long wordId) {
+        return byWord.get(wordId);
+    }
+
+    void put(ReviewState state) {
+        ReviewState previous = byWord.put(state.getWordId(), state);
+        if (previous != null) {
+            byDue.remove(previous);
+        }
+        byDue.add(state);
+        dirty.add(state.getWordId());
+    }
+
+    void remove(long wordId) {
+        ReviewState previous = byWord.remove(wordId);
+        if (previous != null) {
+            byDue.remove(previous);
+        }
+        dirty.remove(wordId);
+    }
+
+    List<ReviewState> due(Instant now, int limit) {
+        List<ReviewState> due = new ArrayList<>(Math.min(limit, byDue.size()));
+        for (ReviewState state : byDue) {
+            if (due.size() == limit || state.getDueAt().isAfter(now)) {
+                break;
+            }
+            due.add(state);
+        }
+        return due;
+    }
+
+    List<ReviewState> dirtyStates() {
+        List<ReviewState> states = new ArrayList<>(dirty.size());
+        for (Long wordId : dirty) {
+            states.add(byWord.get(wordId));
+        }
+        return states;
+    }
+
+    /** Marks the written states clean, unless a newer review replaced them in the meantime. */
+    void markWritten(List<ReviewState> written) {
+        for (ReviewState state : written) {
+            if (byWord.get(state.getWordId()) == state) {
+                dirty.remove(state.getWordId());
+            }
+        }
+    }
+
+    int size() {
+        return byWord.size();
+    }
+
+    int dirtyCount() {
+        return dirty.size();
+    }
+
+    void touch() {
+        lastAccessMillis = System.currentTimeMillis();
+    }
+
+    boolean isEvicted() {
+        return evicted;
+    }
+
+    /** Retires a queue whose load failed, so callers waiting on it go back to the map. */
+    void discard() {
+        evicted = true;
+    }
+
+    /** Evicts the queue if it has been idle since the cutoff and holds no unwritten reviews. */
+    boolean evictIfIdle(long cutoffMillis) {
+        if (!evicted && dirty.isEmpty() && lastAccessMillis < cutoffMillis) {
+            evicted = true;
+        }
+        return evicted;
+    }
+}
@@ -0,0 +1,50 @@
+package com.example.server_android.review;
+
+import com.example.server_android.user.User;
+import com.example.server_android.words.Word;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.Instant;
+
+/**
+ * Persisted SM-2 state of one word for one user. Written write-behind by {@link ReviewScheduler};
+ * the entity mainly defines the schema.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Entity
+@Table(name = "word_reviews",
+        uniqueConstraints = @UniqueConstraint(name = "uk_word_reviews_user_word", columnNames = {"user_id", "word_id"}),
+        indexes = @Index(name = "idx_word_reviews_user_due", columnList = "user_id, due_at"))
+public class WordReview {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "user_id", nullable = false)
+    private User user;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "word_id", nullable = false, foreignKey = @ForeignKey(ConstraintMode.NO_CONSTRAINT))
+    private Word word;
+
+    @Column(name = "ease", nullable = false)
+    private double ease;
+
+    @Column(name = "interval_days", nullable = false)
+    private int intervalDays;
+
+    @Column(name = "repetitions", nullable = false)
+    private int repetitions;
+
+    @Column(name = "due_at", nullable = false)
+    private Instant dueAt;
+
+    @Column(name = "last_reviewed_at", nullable = false)
+    private Instant lastReviewedAt;
+}
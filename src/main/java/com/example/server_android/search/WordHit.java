@@ -0,0 +1,14 @@
+package com.example.server_android.search;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class WordHit {
+    private final long id;
+    private final String englishWord;
+    private final String romanianWord;
+    // 0 pentru potriviri de prefix, altfel numarul de editari fata de termenul gasit
+    private final int distance;
+}
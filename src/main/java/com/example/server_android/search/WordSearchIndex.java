@@ -0,0 +1,356 @@
+package com.example.server_android.search;
+
+import com.example.server_android.exam.AnswerNormalizer;
+
+import java.util.*;
+
+/**
+ * In-memory search over the dictionary. Terms are the normalized English and Romanian forms of each word,
+ * plus every suffix that starts at a word boundary, so "a merge" is also found as "merge". A sorted map
+ * over the terms serves prefix lookups. Padded trigram postings, split by term length, narrow typo candidates,
+ * which then pass a bounded edit distance check. Terms emptied by removals are reclaimed in bulk once they make
+ * up a quarter of the index. Not thread-safe; the owner guards it.
+ */
+public class WordSearchIndex {
+
+    private static final int GRAM = 3;
+    private static final char PAD = '\0';
+    // Sub aceste lungimi filtrul de trigrame nu mai elimina nimic, iar aproape orice cuvant scurt ar fi "apropiat"
+    private static final int FUZZY_MIN_LENGTH = 4;
+    private static final int ONE_EDIT_MAX_LENGTH = 9;
+    private static final int FUZZY_MAX_LENGTH = 64;
+    private static final int MIN_SUFFIX_LENGTH = 2;
+    private static final int COMPACT_MIN_DEAD_TERMS = 256;
+    private static final double COMPACT_DEAD_TERM_FRACTION = 0.25;
+
+    // Contoare pe un octet: tabloul incape in cache, iar o interogare are mult sub 255 de trigrame
+    private static final ThreadLocal<byte[]> GRAM_COUNTS = ThreadLocal.withInitial(() -> new byte[0]);
+
+    private final NavigableMap<String, Term> terms = new TreeMap<>();
+    private final List<Term> termsByOrdinal = new ArrayList<>();
+    private final Map<Long, IntList> gramPostings = new HashMap<>();
+    private final Map<Long, IndexedWord> words = new HashMap<>();
+    // Cate un bit pe trigrama, pe termen: un test aproximativ de apartenenta fara acces la liste
+    private long[] signatures = new long[1024];
+    private int deadTerms;
+
+    public void put(long id, String englishWord, String romanianWord) {
+        remove(id);
+        Set<String> keys = new LinkedHashSet<>();
+        addKeys(englishWord, keys);
+        addKeys(romanianWord, keys);
+        String[] wordKeys = keys.toArray(new String[0]);
+        words.put(id, new IndexedWord(englishWord, romanianWord, wordKeys));
+        for (String key : wordKeys) {
+            Term term = terms.get(key);
+            if (term == null) {
+                term = term(key);
+            } else if (term.size == 0) {
+                deadTerms--;
+            }
+            term.add(id);
+        }
+    }
+
+    public void remove(long id) {
+        IndexedWord previous = words.remove(id);
+        if (previous != null) {
+            for (String key : previous.keys) {
+                Term term = terms.get(key);
+                term.remove(id);
+                if (term.size == 0) {
+                    deadTerms++;
+                }
+            }
+            if (deadTerms >= COMPACT_MIN_DEAD_TERMS && deadTerms >= termsByOrdinal.size() * COMPACT_DEAD_TERM_FRACTION) {
+                compact();
+            }
+        }
+    }
+
+    /** Rebuilds the term ordinals, postings and signatures from the terms that still hold words. */
+    private void compact() {
+        List<Term> live = new ArrayList<>(termsByOrdinal.size() - deadTerms);
+        for (Term term : termsByOrdinal) {
+            if (term.size > 0) {
+                live.add(term);
+            }
+        }
+        terms.clear();
+        termsByOrdinal.clear();
+        gramPostings.clear();
+        signatures = new long[1024];
+        deadTerms = 0;
+        for (Term previous : live) {
+            Term term = term(previous.text);
+            term.wordIds = previous.wordIds;
+            term.size = previous.size;
+        }
+    }
+
+    public int size() {
+        return words.size();
+    }
+
+    public int termCount() {
+        return terms.size();
+    }
+
+    /** Prefix matches first, in term order, then typo matches by edit distance. */
+    public List<WordHit> search(String query, int limit) {
+        String normalized = AnswerNormalizer.normalize(query);
+        if (normalized.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        Map<Long, Integer> hits = new LinkedHashMap<>();
+        for (Term term : terms.tailMap(normalized, true).values()) {
+            if (!term.text.startsWith(normalized) || collect(term, 0, hits, limit)) {
+                break;
+            }
+        }
+        if (normalized.length() >= FUZZY_MIN_LENGTH && normalized.length() <= FUZZY_MAX_LENGTH) {
+            int maxDistance = normalized.length() <= ONE_EDIT_MAX_LENGTH ? 1 : 2;
+            // Distanta creste pe rand: a doua trecere, mai scumpa, ruleaza doar daca prima nu umple lista
+            for (int distance = 1; distance <= maxDistance && hits.size() < limit; distance++) {
+                for (Term term : fuzzyCandidates(normalized, distance)) {
+                    if (collect(term, distance, hits, limit)) {
+                        break;
+                    }
+                }
+            }
+        }
+
+        List<WordHit> result = new ArrayList<>(hits.size());
+        hits.forEach((id, distance) -> {
+            IndexedWord word = words.get(id);
+            result.add(new WordHit(id, word.englishWord, word.romanianWord, distance));
+        });
+        return result;
+    }
+
+    private static boolean collect(Term term, int distance, Map<Long, Integer> hits, int limit) {
+        for (int i = 0; i < term.size; i++) {
+            hits.putIfAbsent(term.wordIds[i], distance);
+            if (hits.size() == limit) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /** Terms at exactly the given edit distance from the query, in term order. */
+    private List<Term> fuzzyCandidates(String query, int distance) {
+        long[] queryGrams = gramsOf(query);
+        // O editare, chiar si o transpozitie, strica cel mult GRAM + 1 trigrame ale interogarii
+        int threshold = Math.max(1, queryGrams.length - distance * (GRAM + 1));
+        byte[] counts = GRAM_COUNTS.get();
+        if (counts.length < termsByOrdinal.size()) {
+            counts = new byte[Math.max(termsByOrdinal.size(), counts.length * 2)];
+            GRAM_COUNTS.set(counts);
+        }
+        List<Term> candidates = new ArrayList<>();
+        int minLength = Math.max(1, query.length() - distance);
+        for (int length = minLength; length <= query.length() + distance; length++) {
+            collectCandidates(query, queryGrams, length, distance, threshold, counts, candidates);
+        }
+        candidates.sort(Comparator.comparing(term -> term.text));
+        return candidates;
+    }
+
+    private void collectCandidates(String query, long[] queryGrams, int length, int distance, int threshold,
+                                   byte[] counts, List<Term> candidates) {
+        IntList[] postings = new IntList[queryGrams.length];
+        long[] gramBits = new long[queryGrams.length];
+        int found = 0;
+        for (long gram : queryGrams) {
+            IntList list = gramPostings.get(postingKey(gram, length));
+            if (list == null) {
+                continue;
+            }
+            // Sortare prin insertie dupa lungimea listei; sunt cel mult cateva zeci de trigrame
+            int position = found++;
+            while (position > 0 && postings[position - 1].size > list.size) {
+                postings[position] = postings[position - 1];
+                gramBits[position] = gramBits[position - 1];
+                position--;
+            }
+            postings[position] = list;
+            gramBits[position] = signatureBit(gram);
+        }
+        if (found < threshold) {
+            return;
+        }
+        // Un termen cu cel putin `threshold` trigrame comune apare sigur intr-una dintre cele mai rare
+        // found - threshold + 1 liste. Pentru celelalte, cele mai lungi, ajunge semnatura termenului.
+        int scanned = found - threshold + 1;
+
+        IntList touched = new IntList();
+        for (int g = 0; g < scanned; g++) {
+            IntList list = postings[g];
+            for (int i = 0; i < list.size; i++) {
+                int ordinal = list.values[i];
+                if (counts[ordinal]++ == 0) {
+                    touched.add(ordinal);
+                }
+            }
+        }
+        for (int i = 0; i < touched.size; i++) {
+            int ordinal = touched.values[i];
+            int shared = counts[ordinal] & 0xFF;
+            counts[ordinal] = 0;
+            long signature = signatures[ordinal];
+            for (int g = scanned; g < found && shared < threshold; g++) {
+                if ((signature & gramBits[g]) != 0) {
+                    shared++;
+                }
+            }
+            if (shared < threshold) {
+                continue;
+            }
+            Term term = termsByOrdinal.get(ordinal);
+            if (term.size > 0 && boundedDistance(query, term.text, distance) == distance) {
+                candidates.add(term);
+            }
+        }
+    }
+
+    private Term term(String key) {
+        Term term = terms.get(key);
+        if (term == null) {
+            term = new Term(key, termsByOrdinal.size());
+            terms.put(key, term);
+            termsByOrdinal.add(term);
+            if (term.ordinal == signatures.length) {
+                signatures = Arrays.copyOf(signatures, signatures.length * 2);
+            }
+            for (long gram : gramsOf(key)) {
+                gramPostings.computeIfAbsent(postingKey(gram, key.length()), g -> new IntList()).add(term.ordinal);
+                signatures[term.ordinal] |= signatureBit(gram);
+            }
+        }
+        return term;
+    }
+
+    private static void addKeys(String value, Set<String> keys) {
+        String normalized = AnswerNormalizer.normalize(value);
+        if (normalized.isEmpty()) {
+            return;
+        }
+        keys.add(normalized);
+        for (int i = normalized.indexOf(' '); i >= 0; i = normalized.indexOf(' ', i + 1)) {
+            String suffix = normalized.substring(i + 1);
+            if (suffix.length() >= MIN_SUFFIX_LENGTH) {
+                keys.add(suffix);
+            }
+        }
+    }
+
+    /** Distinct trigrams of the term padded with GRAM - 1 markers on both sides. */
+    static long[] gramsOf(String text) {
+        int length = text.length() + 2 * (GRAM - 1);
+        char[] padded = new char[length];
+        Arrays.fill(padded, PAD);
+        text.getChars(0, text.length(), padded, GRAM - 1);
+        long[] grams = new long[length - GRAM + 1];
+        for (int i = 0; i < grams.length; i++) {
+            grams[i] = ((long) padded[i] << 32) | ((long) padded[i + 1] << 16) | padded[i + 2];
+        }
+        return Arrays.stream(grams).distinct().toArray();
+    }
+
+    /** Postings are split by term length, so the length filter of the typo search costs nothing. */
+    private static long postingKey(long gram, int termLength) {
+        return gram | (long) Math.min(termLength, 0xFFFF) << 48;
+    }
+
+    private static long signatureBit(long gram) {
+        return 1L << (Long.hashCode(gram * 0x9E3779B97F4A7C15L) & 63);
+    }
+
+    /**
+     * Optimal string alignment distance (insertions, deletions, substitutions and adjacent transpositions),
+     * or maxDistance + 1 as soon as it is known to exceed maxDistance.
+     */
+    static int boundedDistance(String a, String b, int maxDistance) {
+        int[] beforePrevious = new int[b.length() + 1];
+        int[] previous = new int[b.length() + 1];
+        int[] current = new int[b.length() + 1];
+        for (int j = 0; j <= b.length(); j++) {
+            previous[j] = j;
+        }
+        for (int i = 1; i <= a.length(); i++) {
+            current[0] = i;
+            int rowMin = i;
+            for (int j = 1; j <= b.length(); j++) {
+                int cost = a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1;
+                int value = Math.min(Math.min(previous[j] + 1, current[j - 1] + 1), previous[j - 1] + cost);
+                if (i > 1 && j > 1 && a.charAt(i - 1) == b.charAt(j - 2) && a.charAt(i - 2) == b.charAt(j - 1)) {
+                    value = Math.min(value, beforePrevious[j - 2] + 1);
+                }
+                current[j] = value;
+                rowMin = Math.min(rowMin, value);
+            }
+            if (rowMin > maxDistance) {
+                return maxDistance + 1;
+            }
+            int[] recycled = beforePrevious;
+            beforePrevious = previous;
+            previous = current;
+            current = recycled;
+        }
+        return Math.min(previous[b.length()], maxDistance + 1);
+    }
+
+    private static class IndexedWord {
+        private final String englishWord;
+        private final String romanianWord;
+        private final String[] keys;
+
+        IndexedWord(String englishWord, String romanianWord, String[] keys) {
+            this.englishWord = englishWord;
+            this.romanianWord = romanianWord;
+            this.keys = keys;
+        }
+    }
+
+    private static class Term {
+        private final String text;
+        private final int ordinal;
+        private long[] wordIds = new long[1];
+        private int size;
+
+        Term(String text, int ordinal) {
+            this.text = text;
+            this.ordinal = ordinal;
+        }
+
+        void add(long wordId) {
+            if (size == wordIds.length) {
+                wordIds = Arrays.copyOf(wordIds, size * 2);
+            }
+            wordIds[size++] = wordId;
+        }
+
+        void remove(long wordId) {
+            for (int i = 0; i < size; i++) {
+                if (wordIds[i] == wordId) {
+                    System.arraycopy(wordIds, i + 1, wordIds, i, size - i - 1);
+                    size--;
+                    return;
+                }
+            }
+        }
+    }
+
+    private static class IntList {
+        private int[] values = new int[4];
+        private int size;
+
+        void add(int value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+    }
+}
@@ -0,0 +1,154 @@
+package com.example.server_android.search;
+
+import com.example.server_android.catalog.Catalog;
+import com.example.server_android.metrics.LatencyHistogram;
+import com.example.server_android.metrics.MetricsSource;
+import com.example.server_android.sync.CatalogChange;
+import com.example.server_android.sync.CatalogChangeRepository;
+import com.example.server_android.words.Word;
+import com.example.server_android.words.WordRepository;
+import com.example.server_android.words.WordService;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Owns the dictionary search index. It is built once at startup, then kept current by following the word
+ * entries of the catalog change log, the same way offline clients sync.
+ */
+@Service
+@RequiredArgsConstructor
+public class WordSearchService implements MetricsSource {
+
+    private static final Logger logger = LoggerFactory.getLogger(WordSearchService.class);
+
+    private final WordService wordService;
+    private final WordRepository wordRepository;
+    private final CatalogChangeRepository catalogChangeRepository;
+
+    @Value("${search.words.max-limit:50}")
+    private int maxLimit;
+    @Value("${search.words.max-query-length:100}")
+    private int maxQueryLength;
+    @Value("${search.index.refresh-batch-size:1000}")
+    private int refreshBatchSize;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private WordSearchIndex index = new WordSearchIndex();
+    // Folosit doar de rebuild si refresh, care sunt sincronizate
+    private long cursor;
+    private volatile boolean ready;
+
+    private final LatencyHistogram searchTimes = new LatencyHistogram();
+    private final LongAdder searches = new LongAdder();
+    private final LongAdder wordsUpdated = new LongAdder();
+    private volatile long lastRebuildMillis;
+
+    public List<WordHit> search(String query, int limit) {
+        if (query.length() > maxQueryLength) {
+            throw new IllegalArgumentException("Search query cannot be longer than " + maxQueryLength + " characters");
+        }
+        long started = System.nanoTime();
+        lock.readLock().lock();
+        try {
+            return index.search(query, Math.max(1, Math.min(limit, maxLimit)));
+        } finally {
+            lock.readLock().unlock();
+            searches.increment();
+            searchTimes.record(System.nanoTime() - started);
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void rebuild() {
+        long started = System.currentTimeMillis();
+        // Schimbarile secventiate dupa acest cursor se reiau peste citirea completa; reaplicarea e idempotenta
+        long head = catalogChangeRepository.findHeadCursor();
+        WordSearchIndex rebuilt = new WordSearchIndex();
+        wordService.forEachWord(word -> rebuilt.put(word.getId(), word.getEnglishWord(), word.getRomanianWord()));
+        lock.writeLock().lock();
+        try {
+            index = rebuilt;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        cursor = head;
+        ready = true;
+        lastRebuildMillis = System.currentTimeMillis() - started;
+        logger.info("Word search index built with {} words and {} terms in {} ms",
+                rebuilt.size(), rebuilt.termCount(), lastRebuildMillis);
+    }
+
+    @Scheduled(fixedDelayString = "${search.index.refresh-interval-ms:1000}")
+    public synchronized void refresh() {
+        if (!ready) {
+            return;
+        }
+        List<CatalogChange> changes;
+        do {
+            changes = catalogChangeRepository.findSequencedAfterInCatalog(
+                    cursor, Catalog.WORDS, PageRequest.of(0, refreshBatchSize));
+            if (changes.isEmpty()) {
+                return;
+            }
+            apply(changes);
+            cursor = changes.get(changes.size() - 1).getSeq();
+        } while (changes.size() == refreshBatchSize);
+    }
+
+    private void apply(List<CatalogChange> changes) {
+        Set<Long> ids = new LinkedHashSet<>();
+        for (CatalogChange change : changes) {
+            ids.add(change.getEntityId());
+        }
+        // Se reciteste starea curenta a fiecarui rand: randurile care lipsesc au fost sterse
+        List<Word> words = wordRepository.findAllById(ids);
+        lock.writeLock().lock();
+        try {
+            for (Word word : words) {
+                index.put(word.getId(), word.getEnglishWord(), word.getRomanianWord());
+                ids.remove(word.getId());
+            }
+            for (Long id : ids) {
+                index.remove(id);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+        wordsUpdated.add(words.size() + ids.size());
+    }
+
+    @Override
+    public String metricsName() {
+        return "wordSearch";
+    }
+
+    @Override
+    public Object metricsSnapshot() {
+        Map<String, Object> snapshot = new LinkedHashMap<>();
+        lock.readLock().lock();
+        try {
+            snapshot.put("words", index.size());
+            snapshot.put("terms", index.termCount());
+        } finally {
+            lock.readLock().unlock();
+        }
+        snapshot.put("ready", ready);
+        snapshot.put("lastRebuildMillis", lastRebuildMillis);
+        snapshot.put("wordsUpdated", wordsUpdated.sum());
+        snapshot.put("searches", searches.sum());
+        snapshot.put("searchTimes", searchTimes.snapshot());
+        return snapshot;
+    }
+}
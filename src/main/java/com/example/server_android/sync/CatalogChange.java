@@ -0,0 +1,44 @@
+package com.example.server_android.sync;
+
+import com.example.server_android.catalog.Catalog;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.Instant;
+
+/**
+ * One row per insert, update or delete of a catalog entity. Rows are inserted without a sequence number;
+ * {@link CatalogChangeSequencer} numbers them once committed, and that number is the sync cursor handed to clients.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Entity
+@Table(name = "catalog_changes", indexes = {
+        @Index(name = "uk_catalog_changes_seq", columnList = "seq", unique = true),
+        @Index(name = "idx_catalog_changes_catalog_seq", columnList = "catalog, seq")
+})
+public class CatalogChange {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "seq")
+    private Long seq;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "catalog", nullable = false, length = 16)
+    private Catalog catalog;
+
+    @Column(name = "entity_id", nullable = false)
+    private Long entityId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "operation", nullable = false, length = 8)
+    private ChangeOperation operation;
+
+    @Column(name = "changed_at", nullable = false)
+    private Instant changedAt;
+}
@@ -0,0 +1,44 @@
+package com.example.server_android.sync;
+
+import com.example.server_android.catalog.Catalog;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+
+/**
+ * Appends to catalog_changes over plain JDBC: the rows are written from JPA lifecycle callbacks, where the
+ * EntityManager must not be used. JdbcTemplate joins the surrounding JPA transaction, so a rolled back edit
+ * leaves no change behind.
+ */
+@Component
+@RequiredArgsConstructor
+public class CatalogChangeLog {
+
+    private static final String INSERT_CHANGE =
+            "insert into catalog_changes (catalog, entity_id, operation, changed_at) values (?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public void record(Catalog catalog, Long entityId, ChangeOperation operation) {
+        jdbcTemplate.update(INSERT_CHANGE, catalog.name(), entityId, operation.name(), Timestamp.from(Instant.now()));
+    }
+
+    /** Highest id in a catalog table; the table name must come from code, never from input. */
+    public long lastEntityId(String table) {
+        Long lastId = jdbcTemplate.queryForObject("select coalesce(max(id), 0) from " + table, Long.class);
+        return lastId == null ? 0 : lastId;
+    }
+
+    /**
+     * Logs an upsert for every row of the table above {@code afterId}, for bulk inserts that bypass the JPA
+     * listener. Rows inserted concurrently by someone else get logged twice, which is harmless for upserts.
+     */
+    public void recordInsertedAfter(Catalog catalog, String table, long afterId) {
+        jdbcTemplate.update("insert into catalog_changes (catalog, entity_id, operation, changed_at) " +
+                        "select ?, id, ?, ? from " + table + " where id > ?",
+                catalog.name(), ChangeOperation.UPSERT.name(), Timestamp.from(Instant.now()), afterId);
+    }
+}
@@ -0,0 +1,20 @@
+package com.example.server_android.sync;
+
+import com.example.server_android.catalog.Catalog;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+import java.util.List;
+
+public interface CatalogChangeRepository extends JpaRepository<CatalogChange, Long> {
+
+    @Query("select c from CatalogChange c where c.seq > :cursor order by c.seq asc")
+    List<CatalogChange> findSequencedAfter(Long cursor, Pageable pageable);
+
+    @Query("select c from CatalogChange c where c.seq > :cursor and c.catalog = :catalog order by c.seq asc")
+    List<CatalogChange> findSequencedAfterInCatalog(Long cursor, Catalog catalog, Pageable pageable);
+
+    @Query("select coalesce(max(c.seq), 0) from CatalogChange c")
+    long findHeadCursor();
+}
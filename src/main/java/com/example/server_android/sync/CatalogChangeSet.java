@@ -0,0 +1,19 @@
+package com.example.server_android.sync;
+
+import com.example.server_android.Category;
+import com.example.server_android.SubcategoryDTO;
+import com.example.server_android.exam.PublicQuestionDTO;
+import com.example.server_android.words.Word;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class CatalogChangeSet {
+    private long cursor;
+    private boolean hasMore;
+    private EntityChanges<Category> categories;
+    private EntityChanges<SubcategoryDTO> subcategories;
+    private EntityChanges<Word> words;
+    private EntityChanges<PublicQuestionDTO> questions;
+}
@@ -0,0 +1,100 @@
+package com.example.server_android.sync;
+
+import com.example.server_android.*;
+import com.example.server_android.catalog.Catalog;
+import com.example.server_android.exam.Question;
+import com.example.server_android.exam.QuestionMapper;
+import com.example.server_android.exam.QuestionRepository;
+import com.example.server_android.exam.QuestionService;
+import com.example.server_android.words.Word;
+import com.example.server_android.words.WordRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.*;
+import java.util.function.Function;
+
+/**
+ * Serves catalog deltas from the change log. A client starts by reading {@link #headCursor()}, then downloads
+ * the full catalog once, then keeps asking for changes after the last cursor it received. Upserts are
+ * idempotent, so replaying a change the full download already contained is harmless. Cursors are commit-ordered
+ * sequence numbers, so a change committed late by a slow transaction still lands after every cursor already served.
+ */
+@Service
+@RequiredArgsConstructor
+public class CatalogSyncService {
+
+    private final CatalogChangeRepository catalogChangeRepository;
+    private final CategoryRepository categoryRepository;
+    private final SubcategoryRepository subcategoryRepository;
+    private final WordRepository wordRepository;
+    private final QuestionRepository questionRepository;
+    private final QuestionService questionService;
+
+    @Value("${catalog.sync.max-changes:1000}")
+    private int maxChanges;
+
+    public long headCursor() {
+        return catalogChangeRepository.findHeadCursor();
+    }
+
+    @Transactional(readOnly = true)
+    public CatalogChangeSet changesSince(long cursor) {
+        List<CatalogChange> changes = catalogChangeRepository.findSequencedAfter(
+                cursor, PageRequest.of(0, maxChanges + 1));
+        boolean hasMore = changes.size() > maxChanges;
+        if (hasMore) {
+            changes = changes.subList(0, maxChanges);
+        }
+
+        // Only the last operation per row matters
+        Map<Catalog, Map<Long, ChangeOperation>> latest = new EnumMap<>(Catalog.class);
+        for (Catalog catalog : Catalog.values()) {
+            latest.put(catalog, new LinkedHashMap<>());
+        }
+        for (CatalogChange change : changes) {
+            latest.get(change.getCatalog()).put(change.getEntityId(), change.getOperation());
+        }
+        long nextCursor = changes.isEmpty() ? cursor : changes.get(changes.size() - 1).getSeq();
+
+        return new CatalogChangeSet(
+                nextCursor,
+                hasMore,
+                collect(latest.get(Catalog.CATEGORIES), categoryRepository::findAllById, Category::getId, Function.identity()),
+                collect(latest.get(Catalog.SUBCATEGORIES), subcategoryRepository::findDtosByIdIn, SubcategoryDTO::getId,
+                        Function.identity()),
+                collect(latest.get(Catalog.WORDS), wordRepository::findAllById, Word::getId, Function.identity()),
+                collect(latest.get(Catalog.QUESTIONS), questionRepository::findAllById, Question::getId,
+                        question -> questionService.toPublic(QuestionMapper.toQuestionDTO(question))));
+    }
+
+    private static <E, T> EntityChanges<T> collect(Map<Long, ChangeOperation> operations,
+                                                   Function<List<Long>, List<E>> loader,
+                                                   Function<E, Long> idOf,
+                                                   Function<E, T> mapper) {
+        List<Long> upsertIds = new ArrayList<>();
+        List<Long> deleted = new ArrayList<>();
+        operations.forEach((id, operation) -> {
+            if (operation == ChangeOperation.DELETE) {
+                deleted.add(id);
+            } else {
+                upsertIds.add(id);
+            }
+        });
+
+        List<T> upserted = new ArrayList<>(upsertIds.size());
+        if (!upsertIds.isEmpty()) {
+            Set<Long> missing = new LinkedHashSet<>(upsertIds);
+            for (E entity : loader.apply(upsertIds)) {
+                missing.remove(idOf.apply(entity));
+                upserted.add(mapper.apply(entity));
+            }
+            // Removed after the cursor; the tombstone is further down the log, report it now
+            deleted.addAll(missing);
+        }
+        return new EntityChanges<>(upserted, deleted);
+    }
+}
@@ -0,0 +1,6 @@
+package com.example.server_android.sync;
+
+public enum ChangeOperation {
+    UPSERT,
+    DELETE
+}
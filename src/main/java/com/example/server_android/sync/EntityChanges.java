@@ -0,0 +1,13 @@
+package com.example.server_android.sync;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+@Getter
+@AllArgsConstructor
+public class EntityChanges<T> {
+    private List<T> upserted;
+    private List<Long> deleted;
+}
@@ -2,5 +2,5 @@ package com.example.server_android.test.service;
 
 
 public interface EmailService {
-    void sendRegistrationMail(String to, String message);
+    void sendRegistrationMail(String to, String name, String token);
 }
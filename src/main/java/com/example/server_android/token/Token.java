@@ -1,11 +1,17 @@
 package com.example.server_android.token;
 
 
+import com.example.server_android.config.PooledIdGenerator;
 import com.example.server_android.user.User;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
 import org.hibernate.proxy.HibernateProxy;
 
+import java.time.Instant;
 import java.util.Objects;
 
 @ToString
@@ -15,23 +21,33 @@ import java.util.Objects;
 @Builder
 @AllArgsConstructor
 @Entity
-@Table(name="token")
+@Table(name="token", indexes = {
+        @Index(name = "idx_token_user_state", columnList = "user_id, expired, disable"),
+        @Index(name = "idx_token_created_at", columnList = "created_at")
+})
 public class Token {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.AUTO)
+    @GeneratedValue(generator = "token_id")
+    @GenericGenerator(name = "token_id", type = PooledIdGenerator.class,
+            parameters = @Parameter(name = SequenceStyleGenerator.SEQUENCE_PARAM, value = "token_seq"))
     private Integer id;
 
-    @Column(unique = true)
-    private String token;
+    @Column(name = "token_hash", unique = true, nullable = false, columnDefinition = "BINARY(" + TokenDigest.LENGTH + ")")
+    private byte[] tokenHash;
 
     @Enumerated(EnumType.STRING)
+    @Builder.Default
     private TokenType tokenType = TokenType.BEARER;
 
     private boolean disable;
 
     private boolean expired;
 
+    @CreationTimestamp
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private Instant createdAt;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id")
     private User user;
@@ -1,20 +1,55 @@
 package com.example.server_android.token;
 
+import java.time.Instant;
 import java.util.List;
 import java.util.Optional;
 
 import com.example.server_android.user.User;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.transaction.annotation.Transactional;
 
 public interface TokenRepository extends JpaRepository<Token, Integer> {
 
-    @Query(value = """
-      select t from Token t inner join User u\s
-      on t.user.id = u.id\s
-      where u.id = :id and (t.expired = false or t.disable = false)\s
+    @Transactional
+    @Modifying
+    @Query("""
+      update Token t set t.expired = true, t.disable = true
+      where t.user.id = :userId and (t.expired = false or t.disable = false)
       """)
-    List<Token> findAllValidTokenByUser(Integer id);
-    Optional<Token> findByToken(String token);
+    int revokeAllValidTokensByUser(Integer userId);
+
+    Optional<Token> findByTokenHash(byte[] tokenHash);
+
+    default Optional<Token> findByToken(String token) {
+        return findByTokenHash(TokenDigest.sha256(token));
+    }
+
+    boolean existsByTokenHashAndExpiredFalseAndDisableFalse(byte[] tokenHash);
+
+    default boolean isActive(String token) {
+        return existsByTokenHashAndExpiredFalseAndDisableFalse(TokenDigest.sha256(token));
+    }
+
     List<Token> findByUser(User user);
+
+    @Query("""
+      select t.id from Token t
+      where t.createdAt < :cutoff and t.id > :afterId
+      order by t.id
+      """)
+    List<Integer> findIdsCreatedBefore(Instant cutoff, Integer afterId, Pageable pageable);
+
+    @Modifying
+    @Query("delete from Token t where t.id in :ids")
+    int deleteAllByIdIn(List<Integer> ids);
+
+    @Modifying
+    @Query("""
+      delete from Token t
+      where t.user.id in (select u.id from User u where u.id in :userIds and u.confirmedAt is null)
+      """)
+    int deleteAllOfUnconfirmedUsers(List<Integer> userIds);
 }
@@ -0,0 +1,173 @@
+package com.example.server_android.user;
+
+import com.example.server_android.metrics.CacheStats;
+import com.example.server_android.metrics.MetricsSource;
+import lombok.AllArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Read-through cache of users by email for the authentication path.
+ * Every write to a user's account state must call {@link #evict(String)}.
+ * The cache keeps its own detached copy of each user and hands every caller a fresh copy of it, so one
+ * request thread can never see another one's changes to its principal.
+ */
+@Component
+public class UserPrincipalCache implements MetricsSource {
+
+    private static final long SWEEP_INTERVAL_MILLIS = 1000;
+    // Mult peste durata unei incarcari; o generatie mai veche nu mai poate fi citita de o incarcare in curs
+    private static final long GENERATION_RETENTION_MILLIS = 60_000;
+
+    private final UserRepository userRepository;
+    private final int maxSize;
+    private final long ttlMillis;
+    private final ConcurrentHashMap<String, CachedUser> entries = new ConcurrentHashMap<>();
+    private final AtomicLong lastSweep = new AtomicLong();
+    private final AtomicLong evictionCounter = new AtomicLong();
+    private final ConcurrentHashMap<String, Eviction> recentEvictions = new ConcurrentHashMap<>();
+    private final AtomicLong lastEvictionPrune = new AtomicLong();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public UserPrincipalCache(UserRepository userRepository,
+                              @Value("${user.cache.max-size:10000}") int maxSize,
+                              @Value("${user.cache.ttl-seconds:600}") long ttlSeconds) {
+        this.userRepository = userRepository;
+        this.maxSize = maxSize;
+        this.ttlMillis = ttlSeconds * 1000;
+    }
+
+    public Optional<User> findByEmail(String email) {
+        long now = System.currentTimeMillis();
+        CachedUser cached = entries.get(email);
+        if (cached != null) {
+            if (cached.expiresAtMillis > now) {
+                hits.increment();
+                return Optional.of(copyOf(cached.user));
+            }
+            if (entries.remove(email, cached)) {
+                evictions.increment();
+            }
+        }
+        misses.increment();
+        long loadGeneration = generation(email);
+        Optional<User> user = userRepository.findByEmail(email);
+        user.ifPresent(loaded -> store(email, copyOf(loaded), loadGeneration, now));
+        return user;
+    }
+
+    public void evict(String email) {
+        evictNow(email);
+        // A concurrent load can still read the old row until commit, so evict again once the transaction ends
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    evictNow(email);
+                }
+            });
+        }
+    }
+
+    public CacheStats stats() {
+        return new CacheStats(entries.size(), hits.sum(), misses.sum(), evictions.sum());
+    }
+
+    @Override
+    public String metricsName() {
+        return "userPrincipalCache";
+    }
+
+    @Override
+    public Object metricsSnapshot() {
+        return stats();
+    }
+
+    private long generation(String email) {
+        Eviction eviction = recentEvictions.get(email);
+        return eviction != null ? eviction.generation : 0;
+    }
+
+    private void evictNow(String email) {
+        long now = System.currentTimeMillis();
+        recentEvictions.put(email, new Eviction(evictionCounter.incrementAndGet(), now));
+        entries.remove(email);
+        long previous = lastEvictionPrune.get();
+        if (now - previous >= GENERATION_RETENTION_MILLIS && lastEvictionPrune.compareAndSet(previous, now)) {
+            recentEvictions.values().removeIf(eviction -> now - eviction.atMillis > GENERATION_RETENTION_MILLIS);
+        }
+    }
+
+    private void store(String email, User user, long loadGeneration, long now) {
+        if (entries.size() >= maxSize) {
+            sweepExpired(now);
+            if (entries.size() >= maxSize) {
+                evictAny();
+            }
+        }
+        CachedUser cached = new CachedUser(user, now + ttlMillis);
+        entries.put(email, cached);
+        // A write that evicted this email while we were loading wins over the value we read
+        if (generation(email) != loadGeneration) {
+            entries.remove(email, cached);
+        }
+    }
+
+    private void sweepExpired(long now) {
+        long previous = lastSweep.get();
+        if (now - previous < SWEEP_INTERVAL_MILLIS || !lastSweep.compareAndSet(previous, now)) {
+            return;
+        }
+        entries.forEach((key, cached) -> {
+            if (cached.expiresAtMillis <= now && entries.remove(key, cached)) {
+                evictions.increment();
+            }
+        });
+    }
+
+    private void evictAny() {
+        for (Map.Entry<String, CachedUser> entry : entries.entrySet()) {
+            if (entries.remove(entry.getKey(), entry.getValue())) {
+                evictions.increment();
+                return;
+            }
+        }
+    }
+
+    /** Detached copy of the account fields; the token collection is left out. */
+    private static User copyOf(User user) {
+        return User.builder()
+                .id(user.getId())
+                .first_name(user.getFirst_name())
+                .last_name(user.getLast_name())
+                .email(user.getEmail())
+                .password(user.getPassword())
+                .enabled(user.isEnabled())
+                .createdAt(user.getCreatedAt())
+                .confirmedAt(user.getConfirmedAt())
+                .role(user.getRole())
+                .build();
+    }
+
+    @AllArgsConstructor
+    private static class CachedUser {
+        private final User user;
+        private final long expiresAtMillis;
+    }
+
+    @AllArgsConstructor
+    private static class Eviction {
+        private final long generation;
+        private final long atMillis;
+    }
+}
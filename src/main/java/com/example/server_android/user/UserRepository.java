@@ -1,14 +1,31 @@
 package com.example.server_android.user;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Instant;
+import java.util.List;
 import java.util.Optional;
 
 public interface UserRepository extends JpaRepository<User, Integer> {
 
     Optional<User> findByEmail(String email);
 
+    @Query("""
+      select u.id from User u
+      where u.confirmedAt is null and u.createdAt < :cutoff and u.id > :afterId
+      order by u.id
+      """)
+    List<Integer> findUnconfirmedIdsCreatedBefore(Instant cutoff, Integer afterId, Pageable pageable);
+
+    @Query("select u.email from User u where u.id in :ids and u.confirmedAt is null")
+    List<String> findUnconfirmedEmailsByIdIn(List<Integer> ids);
+
+    @Modifying
+    @Query("delete from User u where u.id in :ids and u.confirmedAt is null")
+    int deleteUnconfirmedByIdIn(List<Integer> ids);
+
 }
@@ -1,6 +1,7 @@
 package com.example.server_android.words;
 
 
+import com.example.server_android.catalog.CatalogChangeListener;
 import jakarta.persistence.*;
 import lombok.*;
 
@@ -13,7 +14,8 @@ import lombok.*;
 @Builder
 @AllArgsConstructor
 @Entity
-@Table(name = "words")
+@Table(name = "words", indexes = @Index(name = "idx_words_english", columnList = "englishWord"))
+@EntityListeners(CatalogChangeListener.class)
 public class Word {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -0,0 +1,13 @@
+package com.example.server_android.words;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+@Getter
+@AllArgsConstructor
+public class WordPage {
+    private List<Word> words;
+    private Long nextCursor;
+}
@@ -1,8 +1,26 @@
 package com.example.server_android.words;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+import java.util.stream.Stream;
+
 @Repository
 public interface WordRepository extends JpaRepository<Word, Long> {
-}
\ No newline at end of file
+
+    List<Word> findByIdGreaterThanOrderByIdAsc(Long afterId, Pageable pageable);
+
+    // Integer.MIN_VALUE face ca MySQL Connector/J să trimită rândurile unul câte unul
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "-2147483648"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select w from Word w order by w.id")
+    Stream<Word> streamAllOrderedById();
+}
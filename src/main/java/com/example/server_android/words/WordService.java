@@ -1,16 +1,46 @@
 package com.example.server_android.words;
 
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
 public class WordService {
     private final WordRepository wordRepository;
+    private final EntityManager entityManager;
+
+    @Value("${words.page.default-size:200}")
+    private int defaultPageSize;
+    @Value("${words.page.max-size:1000}")
+    private int maxPageSize;
 
     public List<Word> getAllWords() {
         return wordRepository.findAll();
     }
+
+    public WordPage getWordsPage(Long afterId, Integer size) {
+        int pageSize = size == null || size <= 0 ? defaultPageSize : Math.min(size, maxPageSize);
+        List<Word> words = wordRepository.findByIdGreaterThanOrderByIdAsc(
+                afterId == null ? 0L : afterId, PageRequest.ofSize(pageSize));
+        Long nextCursor = words.size() < pageSize ? null : words.get(words.size() - 1).getId();
+        return new WordPage(words, nextCursor);
+    }
+
+    @Transactional(readOnly = true)
+    public void forEachWord(Consumer<Word> action) {
+        try (Stream<Word> words = wordRepository.streamAllOrderedById()) {
+            words.forEach(word -> {
+                action.accept(word);
+                entityManager.detach(word);
+            });
+        }
+    }
 }
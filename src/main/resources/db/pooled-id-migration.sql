@@ -0,0 +1,19 @@
+-- Creates and seeds the sequence tables used by PooledIdGenerator for `user`, `token`, `categories` and `subcategories`.
+-- Only needed for databases that are not recreated on startup (spring.jpa.hibernate.ddl-auto other than create/create-drop).
+-- With the pooled-lo optimizer next_val is the first id of the next block, so it must start above the current max id.
+
+CREATE TABLE IF NOT EXISTS user_seq (next_val BIGINT) ENGINE=InnoDB;
+DELETE FROM user_seq;
+INSERT INTO user_seq SELECT COALESCE(MAX(id), 0) + 1 FROM `user`;
+
+CREATE TABLE IF NOT EXISTS token_seq (next_val BIGINT) ENGINE=InnoDB;
+DELETE FROM token_seq;
+INSERT INTO token_seq SELECT COALESCE(MAX(id), 0) + 1 FROM token;
+
+CREATE TABLE IF NOT EXISTS categories_seq (next_val BIGINT) ENGINE=InnoDB;
+DELETE FROM categories_seq;
+INSERT INTO categories_seq SELECT COALESCE(MAX(id), 0) + 1 FROM categories;
+
+CREATE TABLE IF NOT EXISTS subcategories_seq (next_val BIGINT) ENGINE=InnoDB;
+DELETE FROM subcategories_seq;
+INSERT INTO subcategories_seq SELECT COALESCE(MAX(id), 0) + 1 FROM subcategories;
@@ -0,0 +1,13 @@
+-- Moves existing rows of the `token` table from the raw JWT column to the SHA-256 digest column.
+-- Only needed for databases that are not recreated on startup (spring.jpa.hibernate.ddl-auto other than create/create-drop).
+-- The digest matches TokenDigest.sha256: SHA-256 over the ASCII bytes of the compact JWT.
+
+ALTER TABLE token ADD COLUMN token_hash BINARY(32) NULL;
+
+UPDATE token SET token_hash = UNHEX(SHA2(token, 256)) WHERE token_hash IS NULL;
+
+ALTER TABLE token MODIFY token_hash BINARY(32) NOT NULL;
+ALTER TABLE token ADD CONSTRAINT uk_token_token_hash UNIQUE (token_hash);
+
+-- Dropping the column also drops the old unique index on it
+ALTER TABLE token DROP COLUMN token;
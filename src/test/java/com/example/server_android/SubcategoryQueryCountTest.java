@@ -0,0 +1,73 @@
+package com.example.server_android;
+
+import com.example.server_android.catalog.CatalogCaches;
+import com.example.server_android.catalog.CatalogVersions;
+import com.example.server_android.sync.CatalogChangeLog;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Import({SubcategoryService.class, CatalogCaches.class, CatalogVersions.class, CatalogChangeLog.class})
+class SubcategoryQueryCountTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private SubcategoryService subcategoryService;
+
+    private Category verbs;
+    private Category nouns;
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        verbs = entityManager.persist(Category.builder().name("Verbs").build());
+        nouns = entityManager.persist(Category.builder().name("Nouns").build());
+        for (int i = 0; i < 5; i++) {
+            entityManager.persist(Subcategory.builder().name("Verbs " + i).category(verbs).build());
+            entityManager.persist(Subcategory.builder().name("Nouns " + i).category(nouns).build());
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void loadsSubcategoriesOfOneCategoryInOneStatement() {
+        List<SubcategoryDTO> subcategories = subcategoryService.getSubcategoriesByCategoryId(verbs.getId());
+
+        assertThat(subcategories).hasSize(5).allMatch(s -> s.getCategoryId().equals(verbs.getId()));
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+    }
+
+    @Test
+    void loadsSubcategoriesOfManyCategoriesInOneStatement() {
+        Map<Long, List<SubcategoryDTO>> grouped =
+                subcategoryService.getSubcategoriesByCategoryIds(List.of(nouns.getId(), verbs.getId(), -1L));
+
+        assertThat(grouped.keySet()).containsExactly(nouns.getId(), verbs.getId(), -1L);
+        assertThat(grouped.get(nouns.getId())).hasSize(5);
+        assertThat(grouped.get(verbs.getId())).hasSize(5);
+        assertThat(grouped.get(-1L)).isEmpty();
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+}
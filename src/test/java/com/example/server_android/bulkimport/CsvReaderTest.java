@@ -0,0 +1,34 @@
+package com.example.server_android.bulkimport;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CsvReaderTest {
+
+    @Test
+    void readsQuotedFieldsAndTracksRecordLines() throws IOException {
+        CsvReader reader = new CsvReader(new StringReader(
+                "englishWord,romanianWord\r\nhouse,casă\n\n\"a, b\",\"say \"\"hi\"\"\nthere\"\nlast,"));
+
+        assertThat(reader.next()).containsExactly("englishWord", "romanianWord");
+        assertThat(reader.next()).containsExactly("house", "casă");
+        assertThat(reader.getRecordLine()).isEqualTo(2);
+        assertThat(reader.next()).containsExactly("a, b", "say \"hi\"\nthere");
+        assertThat(reader.getRecordLine()).isEqualTo(4);
+        assertThat(reader.next()).containsExactly("last", "");
+        assertThat(reader.getRecordLine()).isEqualTo(6);
+        assertThat(reader.next()).isNull();
+    }
+
+    @Test
+    void rejectsUnterminatedQuotes() {
+        CsvReader reader = new CsvReader(new StringReader("\"open,field\n"));
+
+        assertThatThrownBy(reader::next).isInstanceOf(IOException.class);
+    }
+}
@@ -0,0 +1,42 @@
+package com.example.server_android.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SingleFlightCacheTest {
+
+    @Test
+    void doesNotJoinALoadStartedBeforeInvalidation() throws Exception {
+        SingleFlightCache<String, String> cache = new SingleFlightCache<>(60_000);
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        CompletableFuture<String> stale = CompletableFuture.supplyAsync(() -> cache.get("key", () -> {
+            loading.countDown();
+            await(release);
+            return "old";
+        }));
+        assertThat(loading.await(5, TimeUnit.SECONDS)).isTrue();
+
+        cache.invalidateAll();
+        String fresh = cache.get("key", () -> "new");
+        release.countDown();
+
+        assertThat(fresh).isEqualTo("new");
+        assertThat(stale.get(5, TimeUnit.SECONDS)).isEqualTo("old");
+        assertThat(cache.get("key", () -> "reloaded")).isEqualTo("new");
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.example.server_android.config;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reports the per-hash latency of each BCrypt strength on the machine it runs on,
+ * to pick a value for {@code security.bcrypt.strength}. Run {@link #main(String[])} from the IDE.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BCryptStrengthBenchmark {
+
+    @Param({"8", "10", "12", "14"})
+    private int strength;
+
+    private BCryptPasswordEncoder encoder;
+    private String encodedPassword;
+
+    @Setup
+    public void setUp() {
+        encoder = new BCryptPasswordEncoder(strength);
+        encodedPassword = encoder.encode("benchmark-password");
+    }
+
+    @Benchmark
+    public String encode() {
+        return encoder.encode("benchmark-password");
+    }
+
+    @Benchmark
+    public boolean matches() {
+        return encoder.matches("benchmark-password", encodedPassword);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(BCryptStrengthBenchmark.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,79 @@
+package com.example.server_android.config;
+
+import org.hibernate.id.IdentifierGeneratorHelper;
+import org.hibernate.id.IntegralDataTypeHolder;
+import org.hibernate.id.enhanced.AccessCallback;
+import org.hibernate.id.enhanced.Optimizer;
+import org.hibernate.id.enhanced.OptimizerFactory;
+import org.hibernate.id.enhanced.StandardOptimizerDescriptor;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.Serializable;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Token id allocation under concurrent logins, with the sequence table modeled as one row lock held for a
+ * database round trip ({@code roundTripMicros}). Block size 1 is the old one-fetch-per-insert behaviour;
+ * larger blocks are {@link PooledIdGenerator}. {@link #main(String[])} runs every case at 1, 2, 4 and 8 threads
+ * to show how throughput scales.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 3)
+@Fork(1)
+@State(Scope.Benchmark)
+public class IdAllocationBenchmark {
+
+    @Param({"1", "50", "200"})
+    private int blockSize;
+
+    @Param({"200"})
+    private long roundTripMicros;
+
+    private Optimizer optimizer;
+    private AccessCallback sequenceTable;
+
+    @Setup
+    public void setUp() {
+        optimizer = OptimizerFactory.buildOptimizer(StandardOptimizerDescriptor.POOLED_LO, Integer.class, blockSize, 1);
+        sequenceTable = new AccessCallback() {
+            private long nextValue = 1;
+
+            @Override
+            public synchronized IntegralDataTypeHolder getNextValue() {
+                // select next_val ... for update; update ... set next_val = next_val + increment
+                LockSupport.parkNanos(TimeUnit.MICROSECONDS.toNanos(roundTripMicros));
+                IntegralDataTypeHolder value = IdentifierGeneratorHelper.getIntegralDataTypeHolder(Integer.class)
+                        .initialize(nextValue);
+                nextValue += blockSize;
+                return value;
+            }
+
+            @Override
+            public String getTenantIdentifier() {
+                return null;
+            }
+        };
+    }
+
+    @Benchmark
+    public Serializable allocateTokenId() {
+        return optimizer.generate(sequenceTable);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        for (int threads : new int[]{1, 2, 4, 8}) {
+            Options options = new OptionsBuilder()
+                    .include(IdAllocationBenchmark.class.getSimpleName())
+                    .threads(threads)
+                    .build();
+            new Runner(options).run();
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package com.example.server_android.config;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.security.Key;
+import java.util.Base64;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the per-request cost of the old filter path (key decoded and token parsed three times)
+ * with {@link JwtService#verifyToken(String)}. Run {@link #main(String[])} from the IDE.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JwtServiceBenchmark {
+
+    private JwtService jwtService;
+    private UserDetails userDetails;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        jwtService = new JwtService();
+        userDetails = new User("benchmark@example.com", "password", List.of());
+        token = jwtService.generateToken(userDetails);
+    }
+
+    @Benchmark
+    public boolean legacyPath() {
+        String username = legacyClaims(token).getSubject();
+        return username.equals(userDetails.getUsername())
+                && legacyClaims(token).getSubject().equals(userDetails.getUsername())
+                && !legacyClaims(token).getExpiration().before(new Date());
+    }
+
+    @Benchmark
+    public boolean parseOncePath() {
+        return jwtService.verifyToken(token).isValidFor(userDetails);
+    }
+
+    private static Claims legacyClaims(String token) {
+        return Jwts.parserBuilder()
+                .setSigningKey(legacySignKey())
+                .build()
+                .parseClaimsJws(token)
+                .getBody();
+    }
+
+    private static Key legacySignKey() {
+        return Keys.hmacShaKeyFor(Base64.getDecoder().decode(JwtService.SECRET_KEY));
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(JwtServiceBenchmark.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,24 @@
+package com.example.server_android.exam;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AnswerNormalizerTest {
+
+    @Test
+    void ignoresRomanianDiacriticsCaseAndSpacing() {
+        assertThat(AnswerNormalizer.normalize("  Școală   Mare ")).isEqualTo("scoala mare");
+        assertThat(AnswerNormalizer.normalize("Înțelept, ÂȘA")).isEqualTo("intelept, asa");
+    }
+
+    @Test
+    void treatsCedillaAndCommaBelowFormsAlike() {
+        assertThat(AnswerNormalizer.normalize("ţară şi")).isEqualTo(AnswerNormalizer.normalize("țară și"));
+    }
+
+    @Test
+    void treatsMissingAnswerAsEmpty() {
+        assertThat(AnswerNormalizer.normalize(null)).isEmpty();
+    }
+}
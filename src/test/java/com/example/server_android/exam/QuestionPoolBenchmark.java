@@ -0,0 +1,57 @@
+package com.example.server_android.exam;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Single-threaded exam draws per second from one subcategory pool, without the hydration query.
+ * Run {@link #main(String[])} from the IDE.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 5)
+@Fork(1)
+@Threads(1)
+@State(Scope.Benchmark)
+public class QuestionPoolBenchmark {
+
+    @Param({"200", "2000", "20000"})
+    private int poolSize;
+
+    @Param({"20"})
+    private int examSize;
+
+    private QuestionPool pool;
+    private long seed;
+
+    @Setup
+    public void setUp() {
+        String[] types = {"translate", "choice", "fill"};
+        List<QuestionRef> refs = new ArrayList<>(poolSize);
+        for (long id = 1; id <= poolSize; id++) {
+            refs.add(new QuestionRef(id, types[(int) (id % types.length)]));
+        }
+        pool = QuestionPool.of(refs);
+    }
+
+    @Benchmark
+    public long[] sample() {
+        return pool.sample(examSize, new SplittableRandom(seed++));
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(QuestionPoolBenchmark.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+}
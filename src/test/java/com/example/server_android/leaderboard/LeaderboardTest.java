@@ -0,0 +1,79 @@
+package com.example.server_android.leaderboard;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LeaderboardTest {
+
+    @Test
+    void tiedScoresShareACompetitionRank() {
+        Leaderboard board = new Leaderboard();
+        board.add(1, 10);
+        board.add(2, 7);
+        board.add(3, 10);
+        board.add(4, 3);
+
+        List<RankedEntry> top = board.top(3);
+
+        assertThat(top).extracting(RankedEntry::getUserId).containsExactly(1, 3, 2);
+        assertThat(top).extracting(RankedEntry::getRank).containsExactly(1L, 1L, 3L);
+        assertThat(board.rankOf(4).getRank()).isEqualTo(4);
+        assertThat(board.rankOf(5)).isNull();
+    }
+
+    @Test
+    void ranksFollowScoresAsTheyGrow() {
+        Leaderboard board = new Leaderboard();
+        board.add(1, 500);
+        board.add(2, 900);
+        board.add(1, 5000);
+
+        assertThat(board.rankOf(1).getRank()).isEqualTo(1);
+        assertThat(board.rankOf(1).getScore()).isEqualTo(5500);
+        assertThat(board.rankOf(2).getRank()).isEqualTo(2);
+    }
+
+    @Test
+    void ranksHugeScoresWithoutSizingByScore() {
+        Leaderboard board = new Leaderboard();
+        board.restore(1, Long.MAX_VALUE - 1);
+        board.restore(2, Integer.MAX_VALUE + 10L);
+        board.add(3, 1);
+        board.add(3, Integer.MAX_VALUE + 10L);
+
+        assertThat(board.rankOf(1).getRank()).isEqualTo(1);
+        assertThat(board.rankOf(3).getRank()).isEqualTo(2);
+        assertThat(board.rankOf(2).getRank()).isEqualTo(3);
+    }
+
+    @Test
+    void countsOnlyScoresSomeoneStillHolds() {
+        ScoreCounts counts = new ScoreCounts();
+        counts.add(10, 1);
+        counts.add(10, 1);
+        counts.add(7, 1);
+        counts.add(10, -1);
+        counts.add(10, -1);
+
+        assertThat(counts.distinctScores()).isEqualTo(1);
+        assertThat(counts.countAbove(5)).isEqualTo(1);
+        assertThat(counts.countAbove(7)).isZero();
+    }
+
+    @Test
+    void restoredScoresAreNotSnapshottedAgain() {
+        Leaderboard board = new Leaderboard();
+        board.restore(1, 40);
+        board.add(2, 1);
+
+        List<LeaderboardEntry> dirty = board.dirtyEntries();
+        assertThat(dirty).extracting(LeaderboardEntry::getUserId).containsExactly(2);
+
+        board.add(2, 1);
+        board.markSnapshotted(dirty);
+        assertThat(board.dirtyEntries()).extracting(LeaderboardEntry::getScore).containsExactly(2L);
+    }
+}
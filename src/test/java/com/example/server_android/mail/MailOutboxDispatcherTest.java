@@ -0,0 +1,104 @@
+package com.example.server_android.mail;
+
+import com.icegreen.greenmail.junit5.GreenMailExtension;
+import com.icegreen.greenmail.util.ServerSetupTest;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class MailOutboxDispatcherTest {
+
+    @RegisterExtension
+    static GreenMailExtension greenMail = new GreenMailExtension(ServerSetupTest.SMTP);
+
+    private final OutboxMailRepository repository = mock(OutboxMailRepository.class);
+
+    @Test
+    void sendsPendingMailsAndMarksThemSent() {
+        OutboxMail first = claimedMail(1L, "first@example.com", 0);
+        OutboxMail second = claimedMail(2L, "second@example.com", 0);
+        claims(first, second);
+
+        dispatcher(greenMail.getSmtp().getPort(), 3).dispatchPending();
+
+        assertThat(greenMail.getReceivedMessages()).hasSize(2);
+        assertThat(first.getStatus()).isEqualTo(OutboxMailStatus.SENT);
+        assertThat(second.getStatus()).isEqualTo(OutboxMailStatus.SENT);
+        assertThat(first.getSentAt()).isNotNull();
+        verify(repository).complete(eq(1L), anyString(), eq(OutboxMailStatus.SENT), eq(1), any(), isNull(), any());
+    }
+
+    @Test
+    void sendsNothingWhenAnotherDispatcherHoldsTheMails() {
+        when(repository.claimDue(anyString(), any(), any(), anyInt())).thenReturn(0);
+
+        dispatcher(greenMail.getSmtp().getPort(), 3).dispatchPending();
+
+        assertThat(greenMail.getReceivedMessages()).isEmpty();
+        verify(repository, never()).findClaimed(anyString(), any());
+    }
+
+    @Test
+    void schedulesRetryWhenServerIsUnreachable() {
+        OutboxMail mail = claimedMail(1L, "user@example.com", 0);
+        claims(mail);
+        Instant before = Instant.now();
+
+        dispatcher(greenMail.getSmtp().getPort() + 1, 3).dispatchPending();
+
+        assertThat(mail.getStatus()).isEqualTo(OutboxMailStatus.PENDING);
+        assertThat(mail.getAttempts()).isEqualTo(1);
+        assertThat(mail.getNextAttemptAt()).isAfter(before);
+        assertThat(mail.getLastError()).isNotBlank();
+    }
+
+    @Test
+    void deadLettersAfterMaxAttempts() {
+        OutboxMail mail = claimedMail(1L, "user@example.com", 2);
+        claims(mail);
+
+        dispatcher(greenMail.getSmtp().getPort() + 1, 3).dispatchPending();
+
+        assertThat(mail.getStatus()).isEqualTo(OutboxMailStatus.DEAD);
+        assertThat(mail.getAttempts()).isEqualTo(3);
+    }
+
+    private MailOutboxDispatcher dispatcher(int port, int maxAttempts) {
+        JavaMailSenderImpl sender = new JavaMailSenderImpl();
+        sender.setHost("localhost");
+        sender.setPort(port);
+        return new MailOutboxDispatcher(repository, sender, "noreply@example.com", 50, maxAttempts, 30, 3600, 300);
+    }
+
+    private void claims(OutboxMail... mails) {
+        when(repository.claimDue(anyString(), any(), any(), anyInt())).thenReturn(mails.length, 0);
+        when(repository.findClaimed(anyString(), eq(OutboxMailStatus.SENDING))).thenReturn(List.of(mails));
+        when(repository.complete(any(), anyString(), any(), anyInt(), any(), any(), any())).thenReturn(1);
+    }
+
+    private static OutboxMail claimedMail(Long id, String recipient, int attempts) {
+        return OutboxMail.builder()
+                .id(id)
+                .recipient(recipient)
+                .subject("Confirmare înregistrare")
+                .body("<p>Activate Now</p>")
+                .status(OutboxMailStatus.SENDING)
+                .attempts(attempts)
+                .nextAttemptAt(Instant.now())
+                .build();
+    }
+}
@@ -0,0 +1,88 @@
+package com.example.server_android.progress;
+
+import com.example.server_android.leaderboard.LeaderboardService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.jdbc.CannotGetJdbcConnectionException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ProgressIngestionServiceTest {
+
+    private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+    private final PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+    private final LeaderboardService leaderboardService = mock(LeaderboardService.class);
+
+    @TempDir
+    Path dir;
+
+    private ProgressIngestionService service;
+
+    @AfterEach
+    void stop() throws InterruptedException {
+        if (service != null) {
+            service.stop();
+        }
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void spillsAFailedBatchAndReplaysItInOneTransaction() throws InterruptedException {
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        when(jdbcTemplate.batchUpdate(anyString(), anyCollection(), anyInt(), any(ParameterizedPreparedStatementSetter.class)))
+                .thenThrow(new CannotGetJdbcConnectionException("database down"))
+                .thenReturn(new int[][]{{1, 1, 1}});
+        service = new ProgressIngestionService(jdbcTemplate, new TransactionTemplate(transactionManager),
+                leaderboardService, new ObjectMapper().findAndRegisterModules(), 100, 10, 20, 20,
+                dir.resolve("spill.jsonl").toString(), dir.resolve("dead-letter.jsonl").toString(), false, 0);
+        service.start();
+
+        service.submit(List.of(record(1L), record(2L), record(3L)));
+
+        Map<String, Object> metrics = awaitReplayed(3);
+        assertThat(metrics.get("written")).isEqualTo(0L);
+        assertThat(metrics.get("spillFileBytes")).isEqualTo(0L);
+        verify(transactionManager).rollback(any());
+        verify(transactionManager).commit(any());
+        verify(jdbcTemplate, times(2)).batchUpdate(anyString(), anyCollection(), anyInt(),
+                any(ParameterizedPreparedStatementSetter.class));
+        verify(leaderboardService).recordCorrectAnswers(Map.of(1, Set.of(1L, 2L, 3L)));
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<String, Object> awaitReplayed(long expected) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        Map<String, Object> metrics = (Map<String, Object>) service.metricsSnapshot();
+        while (!metrics.get("replayed").equals(expected) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+            metrics = (Map<String, Object>) service.metricsSnapshot();
+        }
+        assertThat(metrics.get("replayed")).isEqualTo(expected);
+        return metrics;
+    }
+
+    private static ProgressRecord record(long questionId) {
+        return new ProgressRecord(1, questionId, null, "answer", true, 1000, Instant.parse("2026-01-01T00:00:00Z"));
+    }
+}
@@ -0,0 +1,108 @@
+package com.example.server_android.progress;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ProgressSpillFileTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void replaysSpilledEventsOldestFirstInChunks() throws IOException {
+        ProgressSpillFile spillFile = spillFile(0);
+        spillFile.append(records(1, 5));
+        List<List<ProgressRecord>> chunks = new ArrayList<>();
+
+        long written = spillFile.drain(2, chunk -> {
+            chunks.add(List.copyOf(chunk));
+            return List.of();
+        });
+
+        assertThat(written).isEqualTo(5);
+        assertThat(chunks).extracting(List::size).containsExactly(2, 2, 1);
+        assertThat(chunks.get(0)).extracting(ProgressRecord::getQuestionId).containsExactly(1L, 2L);
+        assertThat(spillFile.sizeBytes()).isZero();
+    }
+
+    @Test
+    void resumesAfterTheLastWrittenChunkWithoutRewritingTheFile() throws IOException {
+        ProgressSpillFile spillFile = spillFile(0);
+        spillFile.append(records(1, 6));
+        List<Long> seen = new ArrayList<>();
+
+        assertThatThrownBy(() -> spillFile.drain(2, chunk -> {
+            if (chunk.get(0).getQuestionId() == 3L) {
+                throw new IllegalStateException("database down");
+            }
+            chunk.forEach(record -> seen.add(record.getQuestionId()));
+            return List.of();
+        })).isInstanceOf(IllegalStateException.class);
+        spillFile.append(records(7, 7));
+        long written = spillFile.drain(2, chunk -> {
+            chunk.forEach(record -> seen.add(record.getQuestionId()));
+            return List.of();
+        });
+
+        assertThat(written).isEqualTo(4);
+        assertThat(seen).containsExactly(1L, 2L, 3L, 4L, 5L, 6L);
+        spillFile.drain(2, chunk -> {
+            chunk.forEach(record -> seen.add(record.getQuestionId()));
+            return List.of();
+        });
+        assertThat(seen).endsWith(7L);
+    }
+
+    @Test
+    void deadLettersRejectedAndUnreadableEvents() throws IOException {
+        ProgressSpillFile spillFile = spillFile(0);
+        spillFile.append(records(1, 3));
+        Files.writeString(dir.resolve("spill.jsonl"), "{not json\n", StandardOpenOption.APPEND);
+
+        long written = spillFile.drain(10, chunk -> chunk.stream()
+                .filter(record -> record.getQuestionId() == 2L)
+                .toList());
+
+        assertThat(written).isEqualTo(2);
+        List<String> deadLetters = Files.readAllLines(dir.resolve("dead-letter.jsonl"));
+        assertThat(deadLetters).hasSize(2);
+        assertThat(deadLetters).anyMatch(line -> line.contains("\"questionId\":2"));
+        assertThat(deadLetters).contains("{not json");
+        assertThat(spillFile.drain(10, chunk -> List.of())).isZero();
+    }
+
+    @Test
+    void refusesToGrowPastTheSizeLimit() throws IOException {
+        ProgressSpillFile spillFile = spillFile(1);
+        spillFile.append(records(1, 1));
+
+        assertThatThrownBy(() -> spillFile.append(records(2, 2))).isInstanceOf(IOException.class);
+    }
+
+    private ProgressSpillFile spillFile(long maxBytes) {
+        return new ProgressSpillFile(dir.resolve("spill.jsonl"), dir.resolve("dead-letter.jsonl"), false, maxBytes,
+                objectMapper);
+    }
+
+    private static List<ProgressRecord> records(long fromQuestionId, long toQuestionId) {
+        List<ProgressRecord> records = new ArrayList<>();
+        for (long questionId = fromQuestionId; questionId <= toQuestionId; questionId++) {
+            records.add(new ProgressRecord(1, questionId, null, "answer", true, 1000, Instant.parse("2026-01-01T00:00:00Z")));
+        }
+        return records;
+    }
+}
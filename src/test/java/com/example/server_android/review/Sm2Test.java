@@ -0,0 +1,62 @@
+package com.example.server_android.review;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+class Sm2Test {
+
+    private static final Instant NOW = Instant.parse("2024-05-01T10:00:00Z");
+
+    @Test
+    void growsIntervalsOnePlusSixThenByEase() {
+        ReviewState first = Sm2.review(null, 7L, 5, NOW);
+        ReviewState second = Sm2.review(first, 7L, 5, NOW);
+        ReviewState third = Sm2.review(second, 7L, 5, NOW);
+
+        assertThat(first.getIntervalDays()).isEqualTo(1);
+        assertThat(second.getIntervalDays()).isEqualTo(6);
+        assertThat(third.getIntervalDays()).isEqualTo((int) Math.round(6 * second.getEase()));
+        assertThat(third.getDueAt()).isEqualTo(NOW.plus(Duration.ofDays(third.getIntervalDays())));
+        assertThat(first.getEase()).isCloseTo(2.6, within(1e-9));
+    }
+
+    @Test
+    void failedReviewRestartsTheWordAndLowersEase() {
+        ReviewState learned = Sm2.review(Sm2.review(null, 7L, 4, NOW), 7L, 4, NOW);
+        ReviewState failed = Sm2.review(learned, 7L, 1, NOW);
+
+        assertThat(failed.getRepetitions()).isZero();
+        assertThat(failed.getIntervalDays()).isEqualTo(1);
+        assertThat(failed.getEase()).isLessThan(learned.getEase());
+    }
+
+    @Test
+    void easeNeverDropsBelowMinimum() {
+        ReviewState state = null;
+        for (int i = 0; i < 20; i++) {
+            state = Sm2.review(state, 7L, 0, NOW);
+        }
+        assertThat(state.getEase()).isEqualTo(Sm2.MIN_EASE);
+    }
+
+    @Test
+    void intervalStopsGrowingAtTheMaximum() {
+        ReviewState state = null;
+        for (int i = 0; i < 30; i++) {
+            state = Sm2.review(state, 7L, 5, NOW);
+        }
+        assertThat(state.getIntervalDays()).isEqualTo(Sm2.MAX_INTERVAL_DAYS);
+        assertThat(state.getDueAt()).isEqualTo(NOW.plus(Duration.ofDays(Sm2.MAX_INTERVAL_DAYS)));
+    }
+
+    @Test
+    void rejectsGradesOutsideZeroToFive() {
+        assertThatThrownBy(() -> Sm2.review(null, 7L, 6, NOW)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
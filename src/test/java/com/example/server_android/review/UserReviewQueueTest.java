@@ -0,0 +1,32 @@
+package com.example.server_android.review;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class UserReviewQueueTest {
+
+    private static final Instant NOW = Instant.parse("2024-05-01T10:00:00Z");
+
+    @Test
+    void removedWordsFreeTheirPlacesAmongDueWords() {
+        UserReviewQueue queue = new UserReviewQueue();
+        queue.load(state(1L, 3));
+        queue.load(state(2L, 2));
+        queue.put(state(3L, 1));
+
+        queue.remove(3L);
+        queue.remove(2L);
+
+        assertThat(queue.due(NOW, 1)).extracting(ReviewState::getWordId).containsExactly(1L);
+        assertThat(queue.size()).isEqualTo(1);
+        assertThat(queue.dirtyCount()).isZero();
+    }
+
+    private static ReviewState state(long wordId, int daysOverdue) {
+        Instant dueAt = NOW.minusSeconds(daysOverdue * 86_400L);
+        return new ReviewState(wordId, 2.5, 1, 1, dueAt, dueAt.minusSeconds(86_400));
+    }
+}
@@ -0,0 +1,77 @@
+package com.example.server_android.search;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Average search latency over a synthetic dictionary: prefix lookups and lookups with one transposed pair
+ * of letters. Run {@link #main(String[])} from the IDE.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 5)
+@Fork(value = 1, jvmArgs = "-Xmx2g")
+@Threads(1)
+@State(Scope.Benchmark)
+public class WordSearchBenchmark {
+
+    private static final String ENGLISH_LETTERS = "abcdefghijklmnopqrstuvwxyz";
+    private static final String ROMANIAN_LETTERS = "abcdefghijklmnoprstuvzăâîșț";
+
+    @Param({"50000", "500000"})
+    private int words;
+
+    private WordSearchIndex index;
+    private final List<String> prefixes = new ArrayList<>();
+    private final List<String> typos = new ArrayList<>();
+    private int next;
+
+    @Setup
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(7);
+        index = new WordSearchIndex();
+        for (int id = 0; id < words; id++) {
+            String romanian = randomWord(random, ROMANIAN_LETTERS);
+            index.put(id, randomWord(random, ENGLISH_LETTERS), romanian);
+            if (id % 100 == 0 && romanian.length() > 4) {
+                prefixes.add(romanian.substring(0, 3));
+                typos.add(romanian.substring(0, 2) + romanian.charAt(3) + romanian.charAt(2) + romanian.substring(4));
+            }
+        }
+    }
+
+    @Benchmark
+    public List<WordHit> prefix() {
+        return index.search(prefixes.get(next++ % prefixes.size()), 10);
+    }
+
+    @Benchmark
+    public List<WordHit> typo() {
+        return index.search(typos.get(next++ % typos.size()), 10);
+    }
+
+    private static String randomWord(SplittableRandom random, String letters) {
+        int length = 4 + random.nextInt(8);
+        StringBuilder word = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            word.append(letters.charAt(random.nextInt(letters.length())));
+        }
+        return word.toString();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(WordSearchBenchmark.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,70 @@
+package com.example.server_android.search;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class WordSearchIndexTest {
+
+    private WordSearchIndex index() {
+        WordSearchIndex index = new WordSearchIndex();
+        index.put(1, "school", "școală");
+        index.put(2, "to go", "a merge");
+        index.put(3, "house", "casă");
+        index.put(4, "island", "insulă");
+        return index;
+    }
+
+    @Test
+    void prefixesMatchWithoutDiacritics() {
+        WordSearchIndex index = index();
+
+        assertThat(index.search("scoa", 10)).extracting(WordHit::getId).containsExactly(1L);
+        assertThat(index.search("ȘCOALĂ", 10)).extracting(WordHit::getDistance).containsExactly(0);
+        assertThat(index.search("merge", 10)).extracting(WordHit::getEnglishWord).containsExactly("to go");
+    }
+
+    @Test
+    void toleratesOneTypoInShortWords() {
+        WordSearchIndex index = index();
+
+        assertThat(index.search("hosue", 10)).extracting(WordHit::getId).containsExactly(3L);
+        assertThat(index.search("insual", 10)).extracting(WordHit::getDistance).containsExactly(1);
+        assertThat(index.search("xyzzy", 10)).isEmpty();
+    }
+
+    @Test
+    void updatesReplaceTheWordsTerms() {
+        WordSearchIndex index = index();
+
+        index.put(3, "home", "acasă");
+        assertThat(index.search("house", 10)).isEmpty();
+        assertThat(index.search("acas", 10)).extracting(WordHit::getEnglishWord).containsExactly("home");
+
+        index.remove(3);
+        assertThat(index.search("home", 10)).isEmpty();
+        assertThat(index.size()).isEqualTo(3);
+    }
+
+    @Test
+    void removedWordsReleaseTheirTerms() {
+        WordSearchIndex index = index();
+        for (int i = 0; i < 2000; i++) {
+            index.put(1000 + i, "word" + i, "cuvant" + i);
+        }
+        for (int i = 0; i < 2000; i++) {
+            index.remove(1000 + i);
+        }
+
+        assertThat(index.termCount()).isLessThan(500);
+        assertThat(index.search("hosue", 10)).extracting(WordHit::getId).containsExactly(3L);
+        assertThat(index.search("merge", 10)).extracting(WordHit::getId).containsExactly(2L);
+    }
+
+    @Test
+    void boundedDistanceCountsTranspositionsAsOneEdit() {
+        assertThat(WordSearchIndex.boundedDistance("hosue", "house", 2)).isEqualTo(1);
+        assertThat(WordSearchIndex.boundedDistance("kitten", "sitting", 3)).isEqualTo(3);
+        assertThat(WordSearchIndex.boundedDistance("kitten", "sitting", 1)).isEqualTo(2);
+    }
+}